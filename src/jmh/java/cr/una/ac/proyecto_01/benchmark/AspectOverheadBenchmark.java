@@ -0,0 +1,80 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.aspect.PersonaAspect;
+import cr.una.ac.proyecto_01.aspect.StubJoinPoint;
+import cr.una.ac.proyecto_01.logging.AsyncLogWriter;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.metrics.RequestMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Costo por llamada del advice PersonaAspect.logExecutionTime frente a llamar directo al
+// método. Con -prof gc muestra además los bytes asignados por llamada.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class AspectOverheadBenchmark {
+
+    private Path directory;
+    private LogSegmentStore segmentStore;
+    private AsyncLogWriter logWriter;
+    private PersonaAspect aspect;
+    private StubJoinPoint joinPoint;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("aspect-benchmark");
+        segmentStore = BenchmarkSupport.newSegmentStore(directory);
+        logWriter = new AsyncLogWriter(segmentStore, 65_536, 1024, 100, 0,
+                AsyncLogWriter.OverflowPolicy.DROP_NEWEST, new SimpleMeterRegistry());
+        logWriter.start();
+        aspect = new PersonaAspect(logWriter, new RequestMetrics(new SimpleMeterRegistry()));
+        joinPoint = new StubJoinPoint("getPersonas", "ok");
+        // Como en producción: los mensajes de inicio y fin del advice son de nivel debug
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PersonaAspect.class))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persona");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(200);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        logWriter.shutdown();
+        segmentStore.close();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Object baseline() throws Throwable {
+        return joinPoint.proceed();
+    }
+
+    @Benchmark
+    public Object withAdvice() throws Throwable {
+        return aspect.logExecutionTime(joinPoint);
+    }
+}
@@ -0,0 +1,57 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.service.CriticalEventStream;
+import cr.una.ac.proyecto_01.service.LogService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Utilidades compartidas por los benchmarks
+final class BenchmarkSupport {
+
+    static final long START_EPOCH_MILLIS = 1_727_136_000_000L; // 2024-09-24T00:00:00Z
+
+    private BenchmarkSupport() {
+    }
+
+    static LogSegmentStore newSegmentStore(Path directory) throws IOException {
+        return new LogSegmentStore(directory.resolve("segments").toString(), directory.resolve("log.json").toString(),
+                64 * 1024 * 1024, 60 * 24 * 365, 1024);
+    }
+
+    // LogService con size entradas sintéticas ya ingeridas
+    static LogService newLogService(Path directory, int size) throws IOException {
+        return newLogService(directory, size, 0);
+    }
+
+    static LogService newLogService(Path directory, int size, int reportParallelism) throws IOException {
+        return newLogService(directory, size, reportParallelism, 1000);
+    }
+
+    // reportCacheSize 0 = sin caché de reportes: cada llamada calcula el reporte
+    static LogService newLogService(Path directory, int size, int reportParallelism, int reportCacheSize) throws IOException {
+        LogService logService = new LogService(new LogIngester(newSegmentStore(directory), 500), 24 * 365 * 10, 365 * 10,
+                reportParallelism, new CriticalEventStream(), null, 0, reportCacheSize);
+        SyntheticLogGenerator generator = new SyntheticLogGenerator(42, START_EPOCH_MILLIS);
+        for (int i = 0; i < size; i++) {
+            logService.ingest(generator.next());
+        }
+        return logService;
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.logging.LogArchive;
+import cr.una.ac.proyecto_01.logging.LogField;
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegment;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tiempo de carga de los logs: el arreglo JSON log.json completo con Jackson (como lo hacía
+// LogService al iniciar) contra la lectura de los segmentos NDJSON con el ingester (mapeados
+// en memoria), contra una lectura que solo decodifica los campos de un reporte y contra los
+// mismos datos con los segmentos sellados archivados (LogArchive)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LogLoadBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path directory;
+    private Path legacyFile;
+    private LogSegmentStore segmentStore;
+    private LogSegmentStore archivedStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-load-benchmark");
+        legacyFile = directory.resolve("legacy.json");
+        SyntheticLogGenerator generator = new SyntheticLogGenerator(42, BenchmarkSupport.START_EPOCH_MILLIS);
+        ObjectWriter prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        segmentStore = BenchmarkSupport.newSegmentStore(directory);
+        // Segmentos más chicos para que casi todo quede sellado y se pueda archivar
+        archivedStore = new LogSegmentStore(directory.resolve("archived").toString(), directory.resolve("none.json").toString(),
+                4 * 1024 * 1024, 60 * 24 * 365, 1024);
+
+        List<LogEntry> batch = new ArrayList<>(1024);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(legacyFile))) {
+            out.write("[\n".getBytes());
+            for (int i = 0; i < size; i++) {
+                LogEntry entry = generator.next();
+                if (i > 0) {
+                    out.write(",\n".getBytes());
+                }
+                out.write(prettyWriter.writeValueAsBytes(entry));
+                batch.add(entry);
+                if (batch.size() == 1024) {
+                    segmentStore.append(batch);
+                    archivedStore.append(batch);
+                    batch.clear();
+                }
+            }
+            out.write("\n]".getBytes());
+        }
+        segmentStore.append(batch);
+        archivedStore.append(batch);
+
+        LogArchive format = new LogArchive(LogArchive.DEFAULT_BLOCK_ENTRIES);
+        long ndjsonBytes = 0;
+        long archivedBytes = 0;
+        for (LogSegment segment : archivedStore.segments()) {
+            ndjsonBytes += segment.getSizeBytes();
+            if (segment.isSealed() && archivedStore.archive(segment.getId(), format)) {
+                archivedBytes += Files.size(archivedStore.archivePath(segment.getId()));
+            } else {
+                archivedBytes += segment.getSizeBytes();
+            }
+        }
+        System.out.printf("%nlog.json %d bytes, segments %d bytes, archived %d bytes%n",
+                Files.size(legacyFile), ndjsonBytes, archivedBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        segmentStore.close();
+        archivedStore.close();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<LogEntry> legacyJsonArray() throws IOException {
+        return objectMapper.readValue(legacyFile.toFile(), new TypeReference<List<LogEntry>>() {});
+    }
+
+    @Benchmark
+    public void segmentIngest(Blackhole blackhole) throws IOException {
+        LogIngester ingester = new LogIngester(segmentStore, 500);
+        ingester.addListener(blackhole::consume);
+        ingester.poll();
+    }
+
+    // Solo estado y tiempo de respuesta, lo que necesita el reporte de estado de la aplicación
+    @Benchmark
+    public void segmentStatusFieldsOnly(Blackhole blackhole) {
+        segmentStore.forEachEntry(Long.MIN_VALUE, Long.MAX_VALUE, EnumSet.of(LogField.STATUS, LogField.RESPONSE_TIME),
+                blackhole::consume);
+    }
+
+    @Benchmark
+    public void archivedIngest(Blackhole blackhole) throws IOException {
+        LogIngester ingester = new LogIngester(archivedStore, 500);
+        ingester.addListener(blackhole::consume);
+        ingester.poll();
+    }
+
+    @Benchmark
+    public void archivedStatusFieldsOnly(Blackhole blackhole) {
+        archivedStore.forEachEntry(Long.MIN_VALUE, Long.MAX_VALUE, EnumSet.of(LogField.STATUS, LogField.RESPONSE_TIME),
+                blackhole::consume);
+    }
+
+    // Diez minutos de datos: con el índice de bloques se descomprime solo esa parte
+    @Benchmark
+    public void archivedTenMinuteRange(Blackhole blackhole) {
+        long from = BenchmarkSupport.START_EPOCH_MILLIS + TimeUnit.HOURS.toMillis(1);
+        archivedStore.forEachEntry(from, from + TimeUnit.MINUTES.toMillis(10) - 1,
+                EnumSet.of(LogField.STATUS, LogField.RESPONSE_TIME), blackhole::consume);
+    }
+
+    @Benchmark
+    public void segmentTenMinuteRange(Blackhole blackhole) {
+        long from = BenchmarkSupport.START_EPOCH_MILLIS + TimeUnit.HOURS.toMillis(1);
+        segmentStore.forEachEntry(from, from + TimeUnit.MINUTES.toMillis(10) - 1,
+                EnumSet.of(LogField.STATUS, LogField.RESPONSE_TIME), blackhole::consume);
+    }
+}
@@ -0,0 +1,79 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.service.LogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Tiempo de calcular cada reporte de LogService sobre 10k, 1M y 10M entradas sintéticas. El
+// LogService no tiene caché de reportes, así cada llamada lo calcula de nuevo; los aciertos del
+// caché se miden aparte en ReportCacheHitBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class LogReportBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int size;
+
+    private Path directory;
+    private LogService logService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-report-benchmark");
+        logService = BenchmarkSupport.newLogService(directory, size, 0, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logService.shutdown();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> errorReport() {
+        return logService.generateErrorReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> responseTimeReport() {
+        return logService.generateResponseTimeReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> endpointUsageReport() {
+        return logService.generateEndpointUsageReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> criticalEventReport() {
+        return logService.generateCriticalEventReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> applicationStatusReport() {
+        return logService.generateApplicationStatusReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> allReports() {
+        return logService.generateAllReports();
+    }
+}
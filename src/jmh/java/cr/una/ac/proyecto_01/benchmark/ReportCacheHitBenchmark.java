@@ -0,0 +1,58 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.service.LogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Respuesta del caché de reportes de LogService: sin entradas nuevas entre llamadas, desde la
+// primera cada una es una búsqueda en el caché. No depende del tamaño salvo por la primera llamada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportCacheHitBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    private Path directory;
+    private LogService logService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("report-cache-hit-benchmark");
+        logService = BenchmarkSupport.newLogService(directory, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logService.shutdown();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> cachedCriticalEventReport() {
+        return logService.generateCriticalEventReport();
+    }
+
+    @Benchmark
+    public Optional<Map<String, Object>> cachedAllReports() {
+        return logService.generateAllReports();
+    }
+}
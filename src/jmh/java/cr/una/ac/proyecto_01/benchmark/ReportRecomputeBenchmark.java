@@ -0,0 +1,56 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.report.ReportAggregates;
+import cr.una.ac.proyecto_01.report.ReportRange;
+import cr.una.ac.proyecto_01.service.LogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Recálculo completo de los acumulados desde el store en memoria con 1..N hilos del motor de
+// reportes; con núcleos suficientes el tiempo debería bajar casi en proporción a los hilos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ReportRecomputeBenchmark {
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"1", "4", "16"})
+    int parallelism;
+
+    private Path directory;
+    private LogService logService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("report-recompute-benchmark");
+        logService = BenchmarkSupport.newLogService(directory, size, parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logService.shutdown();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public ReportAggregates fullRecompute() {
+        return logService.recomputeAggregates(ReportRange.ALL);
+    }
+}
@@ -0,0 +1,89 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.service.CriticalEventStream;
+import cr.una.ac.proyecto_01.service.LogService;
+import cr.una.ac.proyecto_01.service.ReportSnapshotStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Arranque de LogService hasta tener los reportes al día: releyendo todos los segmentos contra
+// cargando el snapshot (y la cola vacía que queda después)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SnapshotStartupBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private Path directory;
+    private LogSegmentStore segmentStore;
+    private ReportSnapshotStore snapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-startup-benchmark");
+        segmentStore = BenchmarkSupport.newSegmentStore(directory);
+        snapshots = new ReportSnapshotStore(directory.resolve("snapshots").toString(), 1);
+        SyntheticLogGenerator generator = new SyntheticLogGenerator(42, BenchmarkSupport.START_EPOCH_MILLIS);
+        List<LogEntry> batch = new ArrayList<>(1024);
+        for (int i = 0; i < size; i++) {
+            batch.add(generator.next());
+            if (batch.size() == 1024) {
+                segmentStore.append(batch);
+                batch.clear();
+            }
+        }
+        segmentStore.append(batch);
+
+        LogService logService = start(snapshots);
+        logService.shutdown();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        segmentStore.close();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int fullReplay() throws IOException {
+        LogService logService = start(null);
+        logService.shutdown();
+        return logService.logCount();
+    }
+
+    @Benchmark
+    public int fromSnapshot() throws IOException {
+        LogService logService = start(snapshots);
+        logService.shutdown();
+        return logService.logCount();
+    }
+
+    private LogService start(ReportSnapshotStore snapshotStore) throws IOException {
+        LogIngester ingester = new LogIngester(segmentStore, 500);
+        LogService logService = new LogService(ingester, 24 * 365 * 10, 365 * 10, 0, new CriticalEventStream(), snapshotStore);
+        ingester.poll();
+        return logService;
+    }
+}
@@ -0,0 +1,82 @@
+package cr.una.ac.proyecto_01.benchmark;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+// Genera entradas de log con distribuciones parecidas a las reales: pocos endpoints concentran
+// casi todo el tráfico, la mayoría de las respuestas son 200, los tiempos de respuesta siguen
+// una log-normal con cola larga y los timestamps avanzan unos milisegundos por entrada.
+public class SyntheticLogGenerator {
+
+    private static final String[] ENDPOINTS = {
+            "/api/persona", "/api/persona/{id}", "/api/logs/report/errors", "/api/logs/report/response-times",
+            "/api/logs/report/usage", "/api/logs/all", "/api/personat", "/api/personad"
+    };
+    // Pesos acumulados de cada endpoint (suman 1000)
+    private static final int[] ENDPOINT_WEIGHTS = {450, 780, 830, 870, 900, 920, 970, 1000};
+    private static final String[] METHODS = {"GET", "GET", "GET", "GET", "POST", "PUT", "DELETE"};
+    private static final int[] STATUSES = {200, 201, 204, 400, 401, 403, 404, 500, 503};
+    // Pesos acumulados de cada status (suman 1000)
+    private static final int[] STATUS_WEIGHTS = {880, 905, 915, 935, 945, 950, 985, 997, 1000};
+    private static final String[] THREADS = new String[200];
+
+    static {
+        for (int i = 0; i < THREADS.length; i++) {
+            THREADS[i] = "http-nio-8080-exec-" + (i + 1);
+        }
+    }
+
+    private final SplittableRandom random;
+    private long timestamp;
+
+    public SyntheticLogGenerator(long seed, long startEpochMillis) {
+        this.random = new SplittableRandom(seed);
+        this.timestamp = startEpochMillis;
+    }
+
+    public LogEntry next() {
+        timestamp += random.nextInt(1, 20);
+        int status = STATUSES[pick(STATUS_WEIGHTS)];
+        boolean error = status >= 400;
+        long responseTime = Math.max(1, Math.round(Math.exp(random.nextDouble() * 1.5 + 1.5 + gaussian() * 0.8)));
+        return new LogEntry(
+                ENDPOINTS[pick(ENDPOINT_WEIGHTS)],
+                METHODS[random.nextInt(METHODS.length)],
+                error ? "ERROR" : "INFO",
+                status >= 500 ? responseTime * 10 : responseTime,
+                THREADS[random.nextInt(THREADS.length)],
+                error ? "Error occurred" : "Request processed",
+                Instant.ofEpochMilli(timestamp).toString(),
+                status,
+                error ? errorMessage(status) : null
+        );
+    }
+
+    private int pick(int[] cumulativeWeights) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private double gaussian() {
+        // Box-Muller
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String errorMessage(int status) {
+        return switch (status) {
+            case 400 -> "Bad Request";
+            case 401 -> "Unauthorized";
+            case 403 -> "Forbidden";
+            case 404 -> "Not Found";
+            case 500 -> "Internal Server Error";
+            default -> "HTTP Error " + status;
+        };
+    }
+}
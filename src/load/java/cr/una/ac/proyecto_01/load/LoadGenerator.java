@@ -0,0 +1,163 @@
+package cr.una.ac.proyecto_01.load;
+
+import cr.una.ac.proyecto_01.report.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Genera la carga en uno de dos modelos y mide en microsegundos:
+// - CLOSED: "concurrency" clientes, cada uno manda el siguiente pedido al recibir la respuesta. Una pausa
+//   del servidor frena a los clientes y esconde los pedidos que no se mandaron (omisión coordinada); el
+//   histograma corregido agrega esas muestras suponiendo un pedido cada expectedInterval por cliente.
+// - OPEN: pedidos a tasa fija (rate por segundo) sin importar cuánto tarden las respuestas. El tiempo de
+//   respuesta se mide desde el momento en que el pedido debía salir, no desde que salió, así que las
+//   esperas en el generador (o en maxInFlight) también cuentan.
+// En los dos, "uncorrected" es el tiempo del pedido en el cable (service time).
+final class LoadGenerator {
+
+    enum Mode { CLOSED, OPEN }
+
+    // Resultado de una operación (o del total)
+    record OperationResult(long count, long errors, LatencyHistogram corrected, LatencyHistogram uncorrected) {
+    }
+
+    record Result(Mode mode, double seconds, long expectedIntervalMicros, Map<LoadMix.Operation, OperationResult> operations,
+                  OperationResult total) {
+        double throughput() {
+            return total.count() / seconds;
+        }
+    }
+
+    // Histogramas de una operación mientras corre la prueba
+    private static final class Recorder {
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram uncorrected = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final LoadTarget target;
+    private final LoadMix mix;
+
+    LoadGenerator(LoadTarget target, LoadMix mix) {
+        this.target = target;
+        this.mix = mix;
+    }
+
+    // expectedIntervalMicros <= 0 usa la mediana medida de la propia corrida
+    Result runClosed(int concurrency, Duration duration, long expectedIntervalMicros) throws InterruptedException {
+        Map<LoadMix.Operation, Recorder> recorders = recorders();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        LoadMix.Operation operation = mix.next(random);
+                        long sent = System.nanoTime();
+                        boolean ok = call(operation, random);
+                        record(recorders.get(operation), ok, (System.nanoTime() - sent) / 1_000, -1);
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram all = new LatencyHistogram();
+        recorders.values().forEach(recorder -> all.merge(recorder.uncorrected));
+        long interval = expectedIntervalMicros > 0 ? expectedIntervalMicros : all.valueAtPercentile(50);
+        // En el modelo cerrado el histograma corregido se arma al final a partir del medido
+        recorders.values().forEach(recorder ->
+                recorder.corrected.merge(recorder.uncorrected.copyCorrectedForCoordinatedOmission(interval)));
+        return result(Mode.CLOSED, seconds, interval, recorders);
+    }
+
+    Result runOpen(double rate, Duration duration, int maxInFlight) throws InterruptedException {
+        Map<LoadMix.Operation, Recorder> recorders = recorders();
+        long periodNanos = Math.max(1, Math.round(1e9 / rate));
+        long total = Math.max(1, Math.round(rate * duration.toNanos() / 1e9));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * periodNanos;
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                LoadMix.Operation operation = mix.next(random);
+                inFlight.acquire();
+                requests.submit(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        boolean ok = call(operation, ThreadLocalRandom.current());
+                        long done = System.nanoTime();
+                        record(recorders.get(operation), ok, (done - sent) / 1_000, (done - intended) / 1_000);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return result(Mode.OPEN, seconds, periodNanos / 1_000, recorders);
+    }
+
+    private boolean call(LoadMix.Operation operation, ThreadLocalRandom random) {
+        try {
+            int status = target.execute(operation, random);
+            return status < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void record(Recorder recorder, boolean ok, long serviceMicros, long responseMicros) {
+        if (!ok) {
+            recorder.errors.increment();
+        }
+        recorder.uncorrected.record(serviceMicros);
+        if (responseMicros >= 0) {
+            recorder.corrected.record(responseMicros);
+        }
+    }
+
+    private static Map<LoadMix.Operation, Recorder> recorders() {
+        Map<LoadMix.Operation, Recorder> recorders = new EnumMap<>(LoadMix.Operation.class);
+        for (LoadMix.Operation operation : LoadMix.Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+        return recorders;
+    }
+
+    private static Result result(Mode mode, double seconds, long interval, Map<LoadMix.Operation, Recorder> recorders) {
+        Map<LoadMix.Operation, OperationResult> operations = new EnumMap<>(LoadMix.Operation.class);
+        LatencyHistogram corrected = new LatencyHistogram();
+        LatencyHistogram uncorrected = new LatencyHistogram();
+        long errors = 0;
+        for (Map.Entry<LoadMix.Operation, Recorder> entry : recorders.entrySet()) {
+            Recorder recorder = entry.getValue();
+            if (recorder.uncorrected.getTotalCount() == 0) {
+                continue;
+            }
+            operations.put(entry.getKey(), new OperationResult(recorder.uncorrected.getTotalCount(), recorder.errors.sum(),
+                    recorder.corrected, recorder.uncorrected));
+            corrected.merge(recorder.corrected);
+            uncorrected.merge(recorder.uncorrected);
+            errors += recorder.errors.sum();
+        }
+        return new Result(mode, seconds, interval, operations,
+                new OperationResult(uncorrected.getTotalCount(), errors, corrected, uncorrected));
+    }
+}
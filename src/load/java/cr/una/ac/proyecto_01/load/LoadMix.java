@@ -0,0 +1,85 @@
+package cr.una.ac.proyecto_01.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Mezcla de operaciones con pesos relativos, por ejemplo "read=50,list=15,create=10,update=10,delete=5,report=10".
+// Cada pedido elige su operación al azar según los pesos
+final class LoadMix {
+
+    enum Operation {
+        READ,    // GET /api/persona/{id}
+        LIST,    // GET /api/persona?limit=20&after={id}
+        CREATE,  // POST /api/persona
+        UPDATE,  // PUT /api/persona
+        DELETE,  // DELETE /api/persona/{id} de una persona creada por la misma prueba
+        REPORT   // GET /api/logs/report/*
+    }
+
+    static final String DEFAULT = "read=50,list=15,create=10,update=10,delete=5,report=10";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private LoadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        List<Operation> selected = new ArrayList<>();
+        List<Integer> sums = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            selected.add(entry.getKey());
+            sums.add(total);
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The load mix needs at least one operation with weight > 0");
+        }
+        this.operations = selected.toArray(Operation[]::new);
+        this.cumulative = sums.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static LoadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected operation=weight");
+            }
+            Operation operation = Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operation);
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        return new LoadMix(weights);
+    }
+
+    Operation next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        weights.forEach((operation, weight) -> text.append(text.isEmpty() ? "" : ",")
+                .append(operation.name().toLowerCase(Locale.ROOT)).append('=').append(weight));
+        return text.toString();
+    }
+}
@@ -0,0 +1,129 @@
+package cr.una.ac.proyecto_01.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// La aplicación bajo prueba: arma y manda los pedidos de cada operación con autenticación básica.
+// Las lecturas y actualizaciones usan las personas sembradas (siempre existen); los DELETE solo
+// borran personas creadas por la propia prueba, así la base no se vacía durante la corrida
+final class LoadTarget {
+
+    private static final String[] REPORTS = {"all", "errors", "response-times", "usage", "critical-events",
+            "application-status"};
+    private static final int SEED_CHUNK = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration timeout;
+    private long[] seededIds = new long[0];
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    LoadTarget(String baseUrl, String username, String password, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.timeout = timeout;
+        // HTTP/1.1 explícito: con HTTP/2 el cliente intenta un upgrade h2c en cada conexión nueva
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    // Inserta las personas por /api/persona/bulk y guarda sus ids
+    void seed(int count) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_CHUNK) {
+            List<Map<String, Object>> personas = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + SEED_CHUNK); i++) {
+                personas.add(Map.of("nombre", "Persona " + i, "edad", i % 90));
+            }
+            HttpResponse<String> response = client.send(request("/api/persona/bulk")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(personas)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+                if (item.path("status").asInt() < 400) {
+                    ids.add(item.path("id").asLong());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IOException("Seeding did not create any persona");
+        }
+        seededIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    int seededCount() {
+        return seededIds.length;
+    }
+
+    // Manda el pedido de la operación y devuelve el estado HTTP
+    int execute(LoadMix.Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        long id = seededIds[random.nextInt(seededIds.length)];
+        return switch (operation) {
+            case READ -> discard(request("/api/persona/" + id).GET());
+            case LIST -> discard(request("/api/persona?limit=20&after=" + id).GET());
+            case CREATE -> create(random);
+            case UPDATE -> discard(request("/api/persona")
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("id", id, "nombre", "Persona " + id, "edad", random.nextInt(90)))));
+            case DELETE -> {
+                Long created = createdIds.poll();
+                // Nada propio para borrar todavía: se crea una y se borra en el mismo pedido lógico
+                if (created == null) {
+                    create(random);
+                    created = createdIds.poll();
+                }
+                yield created == null ? 500 : discard(request("/api/persona/" + created).DELETE());
+            }
+            case REPORT -> discard(request("/api/logs/report/" + REPORTS[random.nextInt(REPORTS.length)]).GET());
+        };
+    }
+
+    private int create(ThreadLocalRandom random) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request("/api/persona")
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("nombre", "Carga " + random.nextInt(1_000_000), "edad", random.nextInt(90))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            createdIds.add(objectMapper.readTree(response.body()).path("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int discard(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Authorization", authorization);
+    }
+}
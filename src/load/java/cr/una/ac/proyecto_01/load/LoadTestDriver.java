@@ -0,0 +1,231 @@
+package cr.una.ac.proyecto_01.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cr.una.ac.proyecto_01.Proyecto01Application;
+import cr.una.ac.proyecto_01.report.LatencyHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Prueba de carga de PersonaController y LogController. Sin --url levanta la aplicación en este proceso
+// con el perfil "embedded" (H2 en memoria), siembra personas y reproduce la mezcla de operaciones:
+//   mvn -Ploadtest test-compile exec:exec
+//   mvn -Ploadtest test-compile exec:exec -Dload.args="--mode=open --rate=800 --duration=60 --mix=read=80,report=20"
+//   mvn -Ploadtest test-compile exec:exec -Dload.args="--mode=closed --concurrency=200 --url=http://localhost:8080"
+// Imprime throughput y p50/p99/p999 por operación, corregidos por omisión coordinada y sin corregir, y
+// deja el resultado en target/load-result.json. Termina con código 1 si se pasan --max-error-rate o --max-p99-ms.
+public final class LoadTestDriver {
+
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    private LoadTestDriver() {
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("mode", "closed");                // closed (concurrencia fija) u open (tasa fija)
+        defaults.put("concurrency", "64");              // clientes del modelo cerrado
+        defaults.put("rate", "500");                    // pedidos por segundo del modelo abierto
+        defaults.put("max-in-flight", "2000");          // tope de pedidos abiertos a la vez en el modelo abierto
+        defaults.put("expected-interval-us", "0");      // intervalo por cliente para corregir el modelo cerrado (0 = mediana)
+        defaults.put("duration", "30");                 // segundos medidos
+        defaults.put("warmup", "10");                   // segundos de calentamiento (se descartan)
+        defaults.put("mix", LoadMix.DEFAULT);
+        defaults.put("personas", "2000");               // personas sembradas antes de medir
+        defaults.put("url", "");                        // vacío = aplicación embebida
+        defaults.put("user", "user");                   // usuario de SecurityConfig
+        defaults.put("password", "password");
+        defaults.put("timeout", "30");                  // segundos por pedido
+        defaults.put("out", "target/load-result.json");
+        defaults.put("max-error-rate", "0.01");
+        defaults.put("max-p99-ms", "0");                // p99 corregido máximo del total (0 = sin límite)
+        return defaults;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        ConfigurableApplicationContext context = null;
+        Path workDir = null;
+        int exitCode;
+        try {
+            String url = options.get("url");
+            if (url.isEmpty()) {
+                workDir = Files.createTempDirectory("proyecto01-load");
+                context = startEmbedded(workDir);
+                url = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+            }
+            exitCode = run(url, options);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (workDir != null) {
+                FileSystemUtils.deleteRecursively(workDir);
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    // Los argumentos extra (por ejemplo --spring.threads.virtual.enabled=true) van después y tienen prioridad
+    static ConfigurableApplicationContext startEmbedded(Path workDir, String... extraArgs) {
+        // Un directorio de logs nuevo por corrida para que los reportes no arrastren corridas anteriores
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--logs.storage.dir=" + workDir.resolve("segments"),
+                "--logs.storage.file=" + workDir.resolve("log.json"),
+                "--logs.snapshot.dir=" + workDir.resolve("snapshots")));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(Proyecto01Application.class)
+                .profiles("embedded")
+                .run(args.toArray(String[]::new));
+    }
+
+    private static int run(String url, Map<String, String> options) throws Exception {
+        LoadMix mix = LoadMix.parse(options.get("mix"));
+        LoadGenerator.Mode mode = LoadGenerator.Mode.valueOf(options.get("mode").toUpperCase(Locale.ROOT));
+        LoadTarget target = new LoadTarget(url, options.get("user"), options.get("password"),
+                Duration.ofSeconds(Long.parseLong(options.get("timeout"))));
+        target.seed(Integer.parseInt(options.get("personas")));
+        LoadGenerator generator = new LoadGenerator(target, mix);
+
+        System.out.printf("Load test against %s: mode=%s mix=%s personas=%d%n", url, mode.name().toLowerCase(Locale.ROOT),
+                mix, target.seededCount());
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        if (!warmup.isZero()) {
+            generate(generator, mode, options, warmup);
+        }
+        LoadGenerator.Result result = generate(generator, mode, options, Duration.ofSeconds(Long.parseLong(options.get("duration"))));
+
+        print(result, options);
+        write(result, mix, options);
+        return check(result, options);
+    }
+
+    private static LoadGenerator.Result generate(LoadGenerator generator, LoadGenerator.Mode mode, Map<String, String> options,
+                                                 Duration duration) throws InterruptedException {
+        return mode == LoadGenerator.Mode.CLOSED
+                ? generator.runClosed(Integer.parseInt(options.get("concurrency")), duration,
+                        Long.parseLong(options.get("expected-interval-us")))
+                : generator.runOpen(Double.parseDouble(options.get("rate")), duration,
+                        Integer.parseInt(options.get("max-in-flight")));
+    }
+
+    private static void print(LoadGenerator.Result result, Map<String, String> options) {
+        System.out.printf("%s: %.1f s, %d requests, %.0f req/s%s, expected interval %.3f ms%n",
+                result.mode() == LoadGenerator.Mode.CLOSED ? "concurrency " + options.get("concurrency")
+                        : "rate " + options.get("rate") + "/s",
+                result.seconds(), result.total().count(), result.throughput(),
+                result.mode() == LoadGenerator.Mode.OPEN ? " (target " + options.get("rate") + ")" : "",
+                result.expectedIntervalMicros() / 1000.0);
+        printTable(result);
+    }
+
+    // Una fila por operación y el total
+    static void printTable(LoadGenerator.Result result) {
+        System.out.printf("%-10s %9s %7s %9s | %-38s | %-38s%n", "operation", "count", "errors", "req/s",
+                "corrected p50 / p99 / p999 / max (ms)", "uncorrected p50 / p99 / p999 / max (ms)");
+        result.operations().forEach((operation, stats) -> printRow(operation.name().toLowerCase(Locale.ROOT), stats, result.seconds()));
+        printRow("total", result.total(), result.seconds());
+    }
+
+    private static void printRow(String name, LoadGenerator.OperationResult stats, double seconds) {
+        System.out.printf("%-10s %9d %7d %9.0f | %-38s | %-38s%n", name, stats.count(), stats.errors(), stats.count() / seconds,
+                percentiles(stats.corrected()), percentiles(stats.uncorrected()));
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%.2f / %.2f / %.2f / %.2f", millis(histogram.valueAtPercentile(50)),
+                millis(histogram.valueAtPercentile(99)), millis(histogram.valueAtPercentile(99.9)), millis(histogram.getMax()));
+    }
+
+    // Para comparar corridas (antes/después de un cambio), como target/jmh-result.json en los benchmarks
+    private static void write(LoadGenerator.Result result, LoadMix mix, Map<String, String> options) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        Map<String, String> written = new LinkedHashMap<>(options);
+        written.remove("password");
+        json.put("options", written);
+        json.put("mix", mix.toString());
+        json.put("seconds", result.seconds());
+        json.put("throughput", result.throughput());
+        json.put("expectedIntervalMs", result.expectedIntervalMicros() / 1000.0);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        result.operations().forEach((operation, stats) -> operations.put(operation.name().toLowerCase(Locale.ROOT), toJson(stats)));
+        operations.put("total", toJson(result.total()));
+        json.put("operations", operations);
+
+        Path out = Path.of(options.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), json);
+        System.out.println("Result written to " + out.toAbsolutePath());
+    }
+
+    private static Map<String, Object> toJson(LoadGenerator.OperationResult stats) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", stats.count());
+        json.put("errors", stats.errors());
+        json.put("correctedMs", percentilesMillis(stats.corrected()));
+        json.put("uncorrectedMs", percentilesMillis(stats.uncorrected()));
+        return json;
+    }
+
+    private static Map<String, Double> percentilesMillis(LatencyHistogram histogram) {
+        Map<String, Double> json = new LinkedHashMap<>();
+        histogram.percentiles().forEach((name, micros) -> json.put(name, millis(micros)));
+        json.put("max", millis(histogram.getMax()));
+        json.put("mean", histogram.getMean() / 1000.0);
+        return json;
+    }
+
+    private static int check(LoadGenerator.Result result, Map<String, String> options) {
+        int exitCode = 0;
+        double errorRate = result.total().count() == 0 ? 1 : (double) result.total().errors() / result.total().count();
+        double maxErrorRate = Double.parseDouble(options.get("max-error-rate"));
+        if (errorRate > maxErrorRate) {
+            System.out.printf("FAILED: error rate %.4f above %.4f%n", errorRate, maxErrorRate);
+            exitCode = 1;
+        }
+        double p99 = millis(result.total().corrected().valueAtPercentile(99));
+        double maxP99 = Double.parseDouble(options.get("max-p99-ms"));
+        if (maxP99 > 0 && p99 > maxP99) {
+            System.out.printf("FAILED: corrected p99 %.2f ms above %.2f ms%n", p99, maxP99);
+            exitCode = 1;
+        }
+        return exitCode;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // Opciones --clave=valor; cualquier clave fuera de DEFAULTS es un error
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        Set<String> known = DEFAULTS.keySet();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value but got '" + arg + "'; options: " + known);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (!known.contains(key)) {
+                throw new IllegalArgumentException("Unknown option --" + key + "; options: " + known);
+            }
+            options.put(key, arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,65 @@
+package cr.una.ac.proyecto_01.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compara la aplicación embebida con hilos de plataforma y con hilos virtuales bajo la misma carga
+// cerrada, con el harness de LoadTestDriver (percentiles corregidos por omisión coordinada).
+// Solo compila con el perfil loadtest y no corre sin -Dload.test=true:
+//   mvn -Ploadtest test -Dtest=ThreadModeLoadTest -Dload.test=true [-Dload.concurrency=200 -Dload.seconds=15]
+// Con -DargLine=-Djdk.tracePinnedThreads=short la JVM reporta cualquier hilo virtual que fije su portador.
+// Corre sobre H2: un driver JDBC que bloquea dentro de synchronized (mysql-connector-j 8.x) solo se ve
+// apuntando LoadTestDriver --url a la aplicación con MySQL
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class ThreadModeLoadTest {
+
+    // Lecturas por id (caché) y páginas por keyset (base de datos)
+    private static final LoadMix MIX = LoadMix.parse("read=75,list=25");
+    private static final int PERSONAS = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.seconds", 15));
+
+        LoadGenerator.Result platform = run(false, concurrency, warmup, duration);
+        LoadGenerator.Result virtual = run(true, concurrency, warmup, duration);
+
+        System.out.printf("platform threads, concurrency %d: %.0f req/s%n", concurrency, platform.throughput());
+        LoadTestDriver.printTable(platform);
+        System.out.printf("virtual threads, concurrency %d: %.0f req/s%n", concurrency, virtual.throughput());
+        LoadTestDriver.printTable(virtual);
+        assertEquals(0, platform.total().errors());
+        assertEquals(0, virtual.total().errors());
+        assertTrue(virtual.total().count() > 0);
+    }
+
+    private LoadGenerator.Result run(boolean virtualThreads, int concurrency, Duration warmup, Duration duration) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // Una base H2 por modo, así la segunda corrida no hereda las filas de la primera
+        try (ConfigurableApplicationContext context = LoadTestDriver.startEmbedded(tempDir.resolve(mode),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL")) {
+            String url = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+            LoadTarget target = new LoadTarget(url, "user", "password", Duration.ofSeconds(30));
+            target.seed(PERSONAS);
+            LoadGenerator generator = new LoadGenerator(target, MIX);
+            if (!warmup.isZero()) {
+                generator.runClosed(concurrency, warmup, 0);
+            }
+            return generator.runClosed(concurrency, duration, 0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cr.una.ac.proyecto_01.aspect;
+
+import cr.una.ac.proyecto_01.metrics.MethodTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Aspecto de @LogExecutionTime: mide con System.nanoTime y registra en MethodTimings.
+// La configuración de cada método (nombre, muestreo, umbral) se resuelve una sola vez; en
+// cada llamada solo se decide la muestra y, si no hace falta medir, se ejecuta directo.
+@Aspect
+@Component
+@Slf4j
+public class ExecutionTimeAspect {
+
+    private final MethodTimings methodTimings;
+    private final Map<Method, TimedMethod> methods = new ConcurrentHashMap<>();
+
+    public ExecutionTimeAspect(MethodTimings methodTimings) {
+        this.methodTimings = methodTimings;
+    }
+
+    @Around("@annotation(cr.una.ac.proyecto_01.aspect.LogExecutionTime) || @within(cr.una.ac.proyecto_01.aspect.LogExecutionTime)")
+    public Object timeExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        TimedMethod timed = methods.get(method);
+        if (timed == null) {
+            timed = methods.computeIfAbsent(method, key -> resolve(key, joinPoint.getTarget().getClass()));
+        }
+
+        boolean sampled = timed.sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < timed.sampleRate;
+        if (!sampled && timed.slowThresholdNanos < 0) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (sampled) {
+                timed.timing.record(elapsed, timed.weight);
+            }
+            if (timed.slowThresholdNanos >= 0 && elapsed >= timed.slowThresholdNanos) {
+                timed.timing.recordSlow();
+                log.warn("Slow call {} took {} ms (threshold {} ms) on thread {} with args {}",
+                        timed.name, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        TimeUnit.NANOSECONDS.toMillis(timed.slowThresholdNanos),
+                        Thread.currentThread().getName(), describeArguments(joinPoint.getArgs(), timed.logArguments));
+            }
+        }
+    }
+
+    // Por defecto solo los tipos ([Persona, Long]): los valores pueden traer datos personales
+    static String describeArguments(Object[] args, boolean logArguments) {
+        if (logArguments) {
+            return Arrays.toString(args);
+        }
+        StringBuilder types = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            types.append(i == 0 ? "" : ", ").append(args[i] == null ? "null" : args[i].getClass().getSimpleName());
+        }
+        return types.append(']').toString();
+    }
+
+    // El atributo del método tiene prioridad sobre el de la clase; el nombre de la clase se usa como prefijo
+    private TimedMethod resolve(Method method, Class<?> targetClass) {
+        Class<?> userClass = ClassUtils.getUserClass(targetClass);
+        LogExecutionTime onMethod = AnnotatedElementUtils.findMergedAnnotation(method, LogExecutionTime.class);
+        LogExecutionTime onClass = AnnotatedElementUtils.findMergedAnnotation(userClass, LogExecutionTime.class);
+        LogExecutionTime annotation = onMethod != null ? onMethod : onClass;
+
+        String name;
+        if (onMethod != null && !onMethod.name().isEmpty()) {
+            name = onMethod.name();
+        } else {
+            String prefix = onClass != null && !onClass.name().isEmpty() ? onClass.name() : userClass.getSimpleName();
+            name = prefix + "." + method.getName();
+        }
+        double sampleRate = annotation == null ? 1.0 : Math.min(Math.max(annotation.sampleRate(), 0.0), 1.0);
+        long slowThresholdMs = annotation == null ? -1 : annotation.slowThresholdMs();
+        return new TimedMethod(name, methodTimings.timing(name), sampleRate,
+                sampleRate > 0 ? Math.max(1, Math.round(1 / sampleRate)) : 1,
+                slowThresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowThresholdMs),
+                annotation != null && annotation.logArguments());
+    }
+
+    private record TimedMethod(String name, MethodTimings.Timing timing, double sampleRate, long weight,
+                               long slowThresholdNanos, boolean logArguments) {
+    }
+}
@@ -1,11 +1,27 @@
-package cr.una.ac.proyecto_01.aspect;
-
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-
-@Target(ElementType.METHOD)
-@Retention(RetentionPolicy.RUNTIME)
-public @interface LogExecutionTime {
-}
\ No newline at end of file
+package cr.una.ac.proyecto_01.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Mide el tiempo de ejecución de un método de cualquier bean (controlador o servicio) con
+// ExecutionTimeAspect. En una clase aplica a todos sus métodos públicos; en un método,
+// sus atributos tienen prioridad sobre los de la clase.
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LogExecutionTime {
+
+    // Nombre de la métrica; vacío usa Clase.método. En una clase es el prefijo (prefijo.método)
+    String name() default "";
+
+    // Fracción de llamadas que se registran (0 a 1); con menos de 1 cada muestra cuenta por 1/sampleRate
+    double sampleRate() default 1.0;
+
+    // Las llamadas que tarden al menos esto se registran con detalle en el log; -1 lo desactiva
+    long slowThresholdMs() default -1;
+
+    // En el log de llamadas lentas van solo los tipos de los argumentos; true agrega sus valores
+    // (toString), que pueden traer datos personales u objetos enteros como streams o respuestas
+    boolean logArguments() default false;
+}
@@ -1,8 +1,8 @@
 package cr.una.ac.proyecto_01.aspect;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.logging.AsyncLogWriter;
+import cr.una.ac.proyecto_01.metrics.RequestMetrics;
 import jakarta.servlet.Filter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -13,17 +13,13 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 import jakarta.servlet.*;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.time.Instant;
-
 
 @Aspect
 @Component
@@ -31,12 +27,19 @@ import java.time.Instant;
 
 public class PersonaAspect {
 
+    private static final String LEVEL_INFO = "INFO";
+    private static final String LEVEL_ERROR = "ERROR";
+    private static final String MESSAGE_PROCESSED = "Request processed";
+    private static final String MESSAGE_ERROR = "Error occurred";
+
     private static final Logger logger = LoggerFactory.getLogger(PersonaAspect.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private static final String LOG_FILE_PATH = "src/main/java/cr/una/ac/proyecto_01/logs/log.json";
-    private final File logFile = new File(LOG_FILE_PATH);
-    private boolean firstEntry = true;
+    private final AsyncLogWriter logWriter;
+    private final RequestMetrics requestMetrics;
 
+    public PersonaAspect(AsyncLogWriter logWriter, RequestMetrics requestMetrics) {
+        this.logWriter = logWriter;
+        this.requestMetrics = requestMetrics;
+    }
 
 
     // Interceptar métodos de los controladores específicos
@@ -48,12 +51,15 @@ public class PersonaAspect {
         HttpServletResponse response = attributes.getResponse();
 
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         String errorMessage = null;
 
-        // Registrar el inicio de la ejecución del método
-        log.info("Starting execution method {}", joinPoint.getSignature().getName());
+        // Registrar el inicio de la ejecución del método (solo en debug: es el camino de cada petición)
+        if (log.isDebugEnabled()) {
+            log.debug("Starting execution method {}", joinPoint.getSignature().getName());
+        }
 
-        Object result;
+        Object result = null;
 
         try {
             // Continuar con la ejecución del método
@@ -62,33 +68,39 @@ public class PersonaAspect {
             response.setStatus(500); // En caso de excepción, establecer el estado HTTP como 500
             throw e;
         } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
             long responseTimeMs = System.currentTimeMillis() - startTime;
             String endpoint = request.getRequestURI();
             String method = request.getMethod();
             String threadName = Thread.currentThread().getName();
-            int status = response.getStatus();
+            // Con ResponseEntity el estado todavía no se aplicó a la respuesta cuando termina el método
+            int status = result instanceof ResponseEntity<?> entity ? entity.getStatusCode().value() : response.getStatus();
+
+            // Métricas en memoria por patrón de ruta (/api/persona/{id}), sin pasar por el archivo
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            requestMetrics.record(pattern != null ? (String) pattern : endpoint, method, status, elapsedNanos);
 
             if (status >= 400) {
                 errorMessage = getErrorMessageForStatus(status);
             }
 
-            // Crear una entrada de log
-            LogEntry logEntry = new LogEntry(
+            // Encolar los campos de la entrada sin crear objetos; el escritor en segundo plano arma
+            // el LogEntry, formatea el timestamp (epoch millis) y lo guarda en el segmento
+            logWriter.offer(
                     endpoint,
                     method,
-                    status >= 400 ? "ERROR" : "INFO",
+                    status >= 400 ? LEVEL_ERROR : LEVEL_INFO,
                     responseTimeMs,
                     threadName,
-                    status >= 400 ? "Error occurred" : "Request processed",
-                    Instant.now().toString(),
+                    status >= 400 ? MESSAGE_ERROR : MESSAGE_PROCESSED,
+                    startTime + responseTimeMs,
                     status,
                     errorMessage
             );
 
-            // Guardar la entrada de log en el archivo JSON
-            writeLogToFile(logEntry);
-
-            log.info("Finished execution method {}", joinPoint.getSignature().getName());
+            if (log.isDebugEnabled()) {
+                log.debug("Finished execution method {}", joinPoint.getSignature().getName());
+            }
         }
 
         return result;
@@ -105,25 +117,5 @@ public class PersonaAspect {
         };
     }
 
-    private void writeLogToFile(LogEntry logEntry) {
-        try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
-            long length = logFile.length();
-
-            if (!firstEntry) {
-                log.seek(length - 2);
-                log.write(",\n".getBytes());
-            } else {
-                log.seek(length - 1);
-            }
-
-            log.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(logEntry));
-            log.write("\n]".getBytes());
-
-            firstEntry = false;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
 
 }
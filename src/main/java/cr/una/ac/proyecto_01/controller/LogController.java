@@ -1,43 +1,152 @@
 package cr.una.ac.proyecto_01.controller;
 
 
-import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.aspect.LogExecutionTime;
+import cr.una.ac.proyecto_01.entity.LogQuery;
+import cr.una.ac.proyecto_01.entity.LogQueryResult;
+import cr.una.ac.proyecto_01.report.LogRollups;
+import cr.una.ac.proyecto_01.report.ReportRange;
+import cr.una.ac.proyecto_01.service.CriticalEventStream;
 import cr.una.ac.proyecto_01.service.LogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
+@LogExecutionTime(slowThresholdMs = 1000)
 @RestController
 @RequestMapping("/api/logs")
 public class LogController {
 
+    private static final int MAX_QUERY_LIMIT = 1000;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String INVALID_RANGE_MESSAGE = "Invalid range: from must be before to and granularity one of minute, hour, day";
+
     @Autowired
     LogService logService;
 
+    @Autowired
+    CriticalEventStream criticalEventStream;
 
-    // Endpoint para obtener todos los logs
-    @GetMapping("/all")
-    public ResponseEntity<List<LogEntry>> getAllLogs() {
 
-        Optional<List<LogEntry>> optionalLogs = logService.readLogs();
+    // Endpoint para obtener todos los logs. La respuesta se escribe por streaming directo desde
+    // el almacenamiento (memoria constante); acepta cursor/limit para paginar, NDJSON con
+    // format=ndjson (o Accept: application/x-ndjson) y gzip con Accept-Encoding: gzip
+    @GetMapping("/all")
+    public ResponseEntity<StreamingResponseBody> getAllLogs(@RequestParam(defaultValue = "0") int cursor,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @RequestParam(required = false) String format,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (cursor < 0 || (limit != null && limit < 1)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int size = logService.logCount();
+        // Devuelve 204 No Content si no hay logs
+        if (size == 0) {
+            return ResponseEntity.noContent().build();
+        }
+
+        int from = Math.min(cursor, size);
+        int to = limit == null ? size : (int) Math.min((long) from + limit, size);
+        boolean ndjson = "ndjson".equalsIgnoreCase(format) || (accept != null && accept.contains(NDJSON_VALUE));
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(NDJSON_VALUE) : MediaType.APPLICATION_JSON);
+        if (to < size) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(to));
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
 
         // Devuelve los logs si están presentes
-        // Devuelve 204 No Content si no hay logs
-        return optionalLogs.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
+        return response.body(outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(outputStream, 64 * 1024)) {
+                    logService.writeLogs(from, to, ndjson, compressed);
+                }
+            } else {
+                logService.writeLogs(from, to, ndjson, outputStream);
+            }
+        });
+
+    }
+
+    // Endpoint para consultar logs por rango de tiempo y filtros, con paginación por cursor
+    @GetMapping("/query")
+    public ResponseEntity<LogQueryResult> queryLogs(@RequestParam(required = false) Instant from,
+                                                    @RequestParam(required = false) Instant to,
+                                                    @RequestParam(required = false) String endpoint,
+                                                    @RequestParam(required = false) String method,
+                                                    @RequestParam(required = false) String level,
+                                                    @RequestParam(required = false) Integer minStatus,
+                                                    @RequestParam(required = false) Integer maxStatus,
+                                                    @RequestParam(required = false) Long minResponseTimeMs,
+                                                    @RequestParam(defaultValue = "100") int limit,
+                                                    @RequestParam(defaultValue = "0") int cursor) {
+        if (limit < 1 || limit > MAX_QUERY_LIMIT || cursor < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LogQuery query = LogQuery.builder()
+                .from(from)
+                .to(to)
+                .endpoint(endpoint)
+                .method(method)
+                .level(level)
+                .minStatus(minStatus)
+                .maxStatus(maxStatus)
+                .minResponseTimeMs(minResponseTimeMs)
+                .build();
+
+        return ResponseEntity.ok(logService.queryLogs(query, cursor, limit));
+    }
+
+    // Endpoint con los cinco reportes calculados en una sola pasada, para los dashboards
+    @GetMapping("/report/all")
+    public ResponseEntity<Map<String, Object>> getAllReports(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalReports = logService.generateAllReports(range.get());
+
+        // Devuelve los reportes si están disponibles
+        return optionalReports.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", "No logs available to generate reports")));
 
     }
 
     // Endpoint para el reporte de errores
     @GetMapping("/report/errors")
-    public ResponseEntity<Map<String, Object>> getErrorReport() {
-        Optional<Map<String, Object>> optionalErrorReport = logService.generateErrorReport();
+    public ResponseEntity<Map<String, Object>> getErrorReport(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalErrorReport = logService.generateErrorReport(range.get());
 
         // Devuelve el reporte de errores si está disponible
         return optionalErrorReport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -47,8 +156,14 @@ public class LogController {
 
     // Endpoint para el reporte de tiempos de respuesta
     @GetMapping("/report/response-times")
-    public ResponseEntity<Map<String, Object>> getResponseTimeReport() {
-        Optional<Map<String, Object>> optionalResponseTimeReport = logService.generateResponseTimeReport();
+    public ResponseEntity<Map<String, Object>> getResponseTimeReport(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalResponseTimeReport = logService.generateResponseTimeReport(range.get());
 
         // Devuelve el reporte de tiempos de respuesta si está disponible
         return optionalResponseTimeReport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -58,8 +173,14 @@ public class LogController {
 
     // Endpoint para el reporte de uso de endpoints
     @GetMapping("/report/usage")
-    public ResponseEntity<Map<String, Object>> getEndpointUsageReport() {
-        Optional<Map<String, Object>> optionalEndpointUsageReport = logService.generateEndpointUsageReport();
+    public ResponseEntity<Map<String, Object>> getEndpointUsageReport(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalEndpointUsageReport = logService.generateEndpointUsageReport(range.get());
 
         // Devuelve el reporte de uso de endpoints si está disponible
         return optionalEndpointUsageReport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -69,8 +190,14 @@ public class LogController {
 
     // Endpoint para el reporte de eventos críticos
     @GetMapping("/report/critical-events")
-    public ResponseEntity<Map<String, Object>> getCriticalEventReport() {
-        Optional<Map<String, Object>> optionalCriticalEventReport = logService.generateCriticalEventReport();
+    public ResponseEntity<Map<String, Object>> getCriticalEventReport(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalCriticalEventReport = logService.generateCriticalEventReport(range.get());
 
         // Devuelve el reporte de eventos críticos si está disponible
         return optionalCriticalEventReport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -78,14 +205,49 @@ public class LogController {
 
     }
 
+    // Stream SSE de eventos críticos: primero los recientes del buffer y después cada evento nuevo
+    // a medida que se ingiere. Al reconectar, EventSource manda Last-Event-ID y se retoma desde ahí
+    @GetMapping(path = "/critical-events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCriticalEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return criticalEventStream.subscribe(lastEventId);
+    }
+
+    // Endpoint con los eventos críticos recientes (el mismo buffer del stream)
+    @GetMapping("/critical-events/recent")
+    public ResponseEntity<List<CriticalEventStream.Event>> getRecentCriticalEvents() {
+        return ResponseEntity.ok(criticalEventStream.recent());
+    }
+
     // Endpoint para el reporte del estado de la aplicación
     @GetMapping("/report/application-status")
-    public ResponseEntity<Map<String, Object>> getApplicationStatusReport() {
-        Optional<Map<String, Object>> optionalApplicationStatusReport = logService.generateApplicationStatusReport();
+    public ResponseEntity<Map<String, Object>> getApplicationStatusReport(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String granularity) {
+        Optional<ReportRange> range = toRange(from, to, granularity);
+        if (range.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", INVALID_RANGE_MESSAGE));
+        }
+        Optional<Map<String, Object>> optionalApplicationStatusReport = logService.generateApplicationStatusReport(range.get());
 
         // Devuelve el reporte del estado de la aplicación si está disponible
         return optionalApplicationStatusReport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("message", "No logs available to generate application status report")));
 
     }
-}
\ No newline at end of file
+
+    // Rango opcional de los reportes (from/to ISO-8601, granularity minute|hour|day)
+    private Optional<ReportRange> toRange(Instant from, Instant to, String granularity) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return Optional.empty();
+        }
+        LogRollups.Granularity parsed = null;
+        if (granularity != null) {
+            try {
+                parsed = LogRollups.Granularity.valueOf(granularity.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new ReportRange(from, to, parsed));
+    }
+}
@@ -1,12 +1,18 @@
 package cr.una.ac.proyecto_01.controller;
 
 
+import cr.una.ac.proyecto_01.entity.BulkResult;
 import cr.una.ac.proyecto_01.entity.Persona;
-import cr.una.ac.proyecto_01.repository.PersonaRepository;
+import cr.una.ac.proyecto_01.entity.PersonaResumen;
+import cr.una.ac.proyecto_01.service.PersonaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +21,43 @@ import java.util.Optional;
 @RequestMapping("/api")
 public class PersonaController {
 
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
-    PersonaRepository personaRepository;
+    PersonaService personaService;
 
+    // Lista de personas. Sin parámetros devuelve la lista completa (desde la caché).
+    // limit/after paginan por keyset sobre id (X-Next-Cursor trae el "after" de la siguiente
+    // página), fields=id,nombre selecciona solo esas columnas y, sin limit, las filas se
+    // escriben por streaming desde la base de datos (NDJSON con format=ndjson)
     @GetMapping("/persona")
-    ResponseEntity <List<Persona>> getPersonas(){
+    ResponseEntity<?> getPersonas(@RequestParam(required = false) Integer limit,
+                                  @RequestParam(defaultValue = "0") long after,
+                                  @RequestParam(required = false) String fields,
+                                  @RequestParam(required = false) String format,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept){
+        Class<?> type = projectionFor(fields);
+        if (type == null || after < 0 || (limit != null && (limit < 1 || limit > MAX_PAGE_LIMIT))) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean ndjson = "ndjson".equalsIgnoreCase(format) || (accept != null && accept.contains(NDJSON_VALUE));
         try{
-            return ResponseEntity.ok(personaRepository.findAll());
+            if (limit != null) {
+                List<?> page = personaService.findPage(after, limit, type);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.size() == limit) {
+                    response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf(page.getLast())));
+                }
+                return response.body(page);
+            }
+            if (type == Persona.class && after == 0 && !ndjson) {
+                return ResponseEntity.ok(personaService.findAll());
+            }
+            return ResponseEntity.ok()
+                    .contentType(ndjson ? MediaType.parseMediaType(NDJSON_VALUE) : MediaType.APPLICATION_JSON)
+                    .body((StreamingResponseBody) outputStream -> personaService.writePersonas(after, type, ndjson, outputStream));
         }catch (Exception e){
             return ResponseEntity.badRequest().build();
         }
@@ -30,7 +66,7 @@ public class PersonaController {
     @PostMapping("/persona")
      ResponseEntity<Persona> savePersona(@RequestBody Persona persona){
         try {
-            return ResponseEntity.ok(personaRepository.save(persona));
+            return ResponseEntity.ok(personaService.save(persona));
         } catch (Exception e){
             return ResponseEntity.badRequest().build();
         }
@@ -38,7 +74,7 @@ public class PersonaController {
     @PutMapping ("persona")
     ResponseEntity<Persona> updatePersona(@RequestBody  Persona persona){
         try {
-            return ResponseEntity.ok(personaRepository.save(persona));
+            return ResponseEntity.ok(personaService.save(persona));
         } catch (Exception e){
             return ResponseEntity.badRequest().build();
         }
@@ -47,7 +83,7 @@ public class PersonaController {
     @DeleteMapping("/persona/{id}")
     ResponseEntity<Void> deletePersona(@PathVariable("id") Long id ){
         try {
-            personaRepository.deleteById(id);
+            personaService.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (Exception e){
             return ResponseEntity.badRequest().build();
@@ -55,10 +91,27 @@ public class PersonaController {
 
     }
 
+    // Carga masiva: el cuerpo es un arreglo JSON o NDJSON de personas; responde el resultado de cada una
+    @PostMapping("/persona/bulk")
+    ResponseEntity<BulkResult> savePersonas(InputStream body){
+        return bulk(PersonaService.BulkOperation.INSERT, body);
+    }
+
+    @PutMapping("/persona/bulk")
+    ResponseEntity<BulkResult> updatePersonas(InputStream body){
+        return bulk(PersonaService.BulkOperation.UPDATE, body);
+    }
+
+    // Solo se usa el id de cada persona del cuerpo
+    @DeleteMapping("/persona/bulk")
+    ResponseEntity<BulkResult> deletePersonas(InputStream body){
+        return bulk(PersonaService.BulkOperation.DELETE, body);
+    }
+
     @GetMapping("/persona/{id}")
     ResponseEntity<Persona> getPersona(@PathVariable("id") Long id) {
         try {
-            Optional<Persona> optional = personaRepository.findById(id);
+            Optional<Persona> optional = personaService.findById(id);
             return optional.map((persona)->ResponseEntity.ok(persona))
                     .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e){
@@ -68,4 +121,33 @@ public class PersonaController {
 
     }
 
+    // Persona completa o, si fields solo pide id y/o nombre, la proyección PersonaResumen.
+    // null si fields trae un campo que no existe
+    private static Class<?> projectionFor(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Persona.class;
+        }
+        boolean summary = true;
+        for (String field : fields.split(",")) {
+            switch (field.trim()) {
+                case "id", "nombre" -> { }
+                case "edad" -> summary = false;
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return summary ? PersonaResumen.class : Persona.class;
+    }
+
+    // Siempre con el resultado por elemento: un cuerpo inválido a mitad de camino aparece como el último
+    // elemento fallido, junto con los chunks que ya se confirmaron
+    private ResponseEntity<BulkResult> bulk(PersonaService.BulkOperation operation, InputStream body) {
+        return ResponseEntity.ok(personaService.bulk(operation, body));
+    }
+
+    private static Long idOf(Object row) {
+        return row instanceof Persona persona ? persona.getId() : ((PersonaResumen) row).getId();
+    }
+
 }
@@ -0,0 +1,18 @@
+package cr.una.ac.proyecto_01.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+// Resultado de un elemento de una carga masiva: posición en el cuerpo, id y estado HTTP equivalente
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class BulkItemResult {
+    private int index;
+    private Long id;
+    private int status;
+    private String error;
+}
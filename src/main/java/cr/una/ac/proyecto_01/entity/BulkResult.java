@@ -0,0 +1,29 @@
+package cr.una.ac.proyecto_01.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+// Resumen de una carga masiva con el resultado de cada elemento, en el orden del cuerpo
+@Data
+@NoArgsConstructor
+
+public class BulkResult {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items = new ArrayList<>();
+
+    public void add(BulkItemResult item) {
+        items.add(item);
+        total++;
+        if (item.getStatus() < 400) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+}
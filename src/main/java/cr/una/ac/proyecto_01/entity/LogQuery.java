@@ -0,0 +1,26 @@
+package cr.una.ac.proyecto_01.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+// Filtros para consultar logs; los campos nulos no filtran
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class LogQuery {
+    private Instant from;
+    private Instant to;
+    private String endpoint;
+    private String method;
+    private String level;
+    private Integer minStatus;
+    private Integer maxStatus;
+    private Long minResponseTimeMs;
+}
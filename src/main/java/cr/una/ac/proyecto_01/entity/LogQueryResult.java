@@ -0,0 +1,18 @@
+package cr.una.ac.proyecto_01.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+// Página de resultados; nextCursor es null cuando no hay más
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class LogQueryResult {
+    private List<LogEntry> entries;
+    private Integer nextCursor;
+}
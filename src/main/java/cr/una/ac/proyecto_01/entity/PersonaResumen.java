@@ -0,0 +1,12 @@
+package cr.una.ac.proyecto_01.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Proyección de Persona con solo id y nombre (la consulta no selecciona las demás columnas)
+@Data
+@AllArgsConstructor
+public class PersonaResumen {
+    private Long id;
+    private String nombre;
+}
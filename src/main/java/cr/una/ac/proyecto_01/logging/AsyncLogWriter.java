@@ -0,0 +1,338 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Escritor de logs en segundo plano: los hilos de las peticiones solo copian los campos de la
+// entrada a un registro reutilizable de un buffer circular y un único hilo escritor lo vacía por
+// lotes, con una sola escritura por lote al segmento activo de LogSegmentStore.
+// Encolar no reserva memoria: los registros se crean una vez al inicio y el timestamp se guarda
+// como epoch millis y se formatea recién en el hilo escritor.
+@Slf4j
+@Component
+public class AsyncLogWriter {
+
+    // Qué hacer cuando la cola está llena
+    public enum OverflowPolicy {
+        DROP_NEWEST, // descartar la entrada nueva
+        DROP_OLDEST, // descartar la entrada más antigua de la cola
+        BLOCK        // esperar hasta block-timeout-ms y luego descartar
+    }
+
+    // Reintentos de DROP_OLDEST antes de descartar la entrada nueva (un productor copiando sus campos
+    // tarda mucho menos; solo se llega al límite si quedó sin CPU a mitad de camino)
+    private static final int DROP_OLDEST_ATTEMPTS = 1_000;
+
+    // Buffer circular acotado multi-productor (algoritmo de Vyukov): cada posición tiene un número
+    // de secuencia que indica si está libre para la vuelta actual o ya tiene un registro publicado
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private final LogSegmentStore segmentStore;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncLogWriter(LogSegmentStore segmentStore,
+                          @Value("${logs.writer.capacity:10000}") int capacity,
+                          @Value("${logs.writer.batch-size:256}") int batchSize,
+                          @Value("${logs.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${logs.writer.block-timeout-ms:50}") long blockTimeoutMs,
+                          @Value("${logs.writer.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                          MeterRegistry meterRegistry) {
+        this.segmentStore = segmentStore;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.overflowPolicy = overflowPolicy;
+
+        // El buffer es la potencia de dos siguiente; capacity sigue siendo el límite de entradas en cola
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+
+        Gauge.builder("logs.writer.queue.depth", this, AsyncLogWriter::getQueueDepth).register(meterRegistry);
+        FunctionCounter.builder("logs.writer.dropped", dropped, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("logs.writer.written", written, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("logs.writer.batches", batches, LongAdder::sum).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Al apagar la aplicación se escribe todo lo que quede en la cola
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Llamado desde los hilos de las peticiones; nunca hace I/O ni reserva memoria.
+    // El timestamp (epoch millis) se formatea al escribir
+    public boolean offer(String endpoint, String method, String level, long responseTimeMs, String thread,
+                         String message, long epochMillis, int status, String errorMessage) {
+        long position = reserve();
+        if (position < 0) {
+            return false;
+        }
+        Slot slot = slots[(int) (position & mask)];
+        slot.endpoint = endpoint;
+        slot.method = method;
+        slot.level = level;
+        slot.responseTimeMs = responseTimeMs;
+        slot.thread = thread;
+        slot.message = message;
+        slot.timestamp = null;
+        slot.epochMillis = epochMillis;
+        slot.status = status;
+        slot.errorMessage = errorMessage;
+        publish(position);
+        return true;
+    }
+
+    public boolean offer(LogEntry entry) {
+        long position = reserve();
+        if (position < 0) {
+            return false;
+        }
+        Slot slot = slots[(int) (position & mask)];
+        slot.endpoint = entry.getEndpoint();
+        slot.method = entry.getMethod();
+        slot.level = entry.getLevel();
+        slot.responseTimeMs = entry.getResponseTimeMs();
+        slot.thread = entry.getThread();
+        slot.message = entry.getMessage();
+        slot.timestamp = entry.getTimestamp();
+        // Sin timestamp en la entrada se usa la hora de encolar, no la del registro anterior de este lugar
+        slot.epochMillis = System.currentTimeMillis();
+        slot.status = entry.getStatus();
+        slot.errorMessage = entry.getErrorMessage();
+        publish(position);
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return (int) Math.max(tail.get() - head.get(), 0);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    // Posición reservada para escribir, o -1 si la entrada se descartó según la política
+    private long reserve() {
+        if (!running) {
+            dropped.increment();
+            return -1;
+        }
+        long position = tryClaim();
+        if (position >= 0) {
+            return position;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                // Si la más antigua está reservada pero su productor todavía no la publicó, ni tryTake ni
+                // tryClaim avanzan hasta que termine: se reintenta un rato acotado y después se descarta la nueva
+                for (int attempt = 0; attempt < DROP_OLDEST_ATTEMPTS && running; attempt++) {
+                    long oldest = tryTake();
+                    if (oldest >= 0) {
+                        // Se libera el lugar de la entrada más antigua
+                        release(oldest);
+                        dropped.increment();
+                    }
+                    position = tryClaim();
+                    if (position >= 0) {
+                        return position;
+                    }
+                    Thread.onSpinWait();
+                }
+                dropped.increment();
+                return -1;
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline && running) {
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+                    position = tryClaim();
+                    if (position >= 0) {
+                        return position;
+                    }
+                }
+                dropped.increment();
+                return -1;
+            }
+            default -> {
+                dropped.increment();
+                return -1;
+            }
+        }
+    }
+
+    // Reserva la siguiente posición libre para un productor; -1 si la cola está llena
+    private long tryClaim() {
+        while (true) {
+            long position = tail.get();
+            long difference = sequences.get((int) (position & mask)) - position;
+            if (difference == 0) {
+                if (position - head.get() >= capacity) {
+                    return -1;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void publish(long position) {
+        sequences.set((int) (position & mask), position + 1);
+        // Un lote completo despierta al escritor sin esperar el intervalo de flush
+        if (position + 1 - head.get() == batchSize) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    // Toma la posición publicada más antigua; -1 si no hay ninguna lista
+    private long tryTake() {
+        while (true) {
+            long position = head.get();
+            long difference = sequences.get((int) (position & mask)) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                return -1;
+            }
+        }
+    }
+
+    // Deja la posición libre para la siguiente vuelta del buffer
+    private void release(long position) {
+        slots[(int) (position & mask)].clear();
+        sequences.set((int) (position & mask), position + mask + 1);
+    }
+
+    private void run() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running || getQueueDepth() > 0) {
+            if (running && getQueueDepth() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drain(batch);
+        }
+    }
+
+    private void drain(List<LogEntry> batch) {
+        long position;
+        while ((position = tryTake()) >= 0) {
+            batch.add(slots[(int) (position & mask)].toLogEntry());
+            release(position);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<LogEntry> batch) {
+        try {
+            segmentStore.append(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (IOException e) {
+            dropped.add(batch.size());
+            log.error("Could not write {} log entries", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    // Registro reutilizable con los campos de una entrada en cola
+    private static final class Slot {
+        private String endpoint;
+        private String method;
+        private String level;
+        private long responseTimeMs;
+        private String thread;
+        private String message;
+        private String timestamp;
+        private long epochMillis;
+        private int status;
+        private String errorMessage;
+
+        private LogEntry toLogEntry() {
+            String formatted = timestamp != null ? timestamp : Instant.ofEpochMilli(epochMillis).toString();
+            return new LogEntry(endpoint, method, level, responseTimeMs, thread, message, formatted, status, errorMessage);
+        }
+
+        private void clear() {
+            endpoint = null;
+            method = null;
+            level = null;
+            thread = null;
+            message = null;
+            timestamp = null;
+            epochMillis = 0;
+            errorMessage = null;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Formato de los segmentos archivados: las entradas de un segmento sellado guardadas por columnas
+// en bloques de N entradas, cada bloque comprimido con Deflater. Los strings (endpoint, método,
+// mensajes...) se codifican con diccionarios propios del archivo y al final va un índice con el
+// rango de tiempo, la cantidad de entradas y los offsets de cada bloque, así una lectura por rango
+// de tiempo o por posición solo descomprime los bloques que necesita.
+// Cada entrada conserva sus offsets del NDJSON original: el ingester y los snapshots siguen
+// usando las mismas posiciones aunque el segmento ya esté archivado.
+public class LogArchive {
+
+    public static final int DEFAULT_BLOCK_ENTRIES = 4096;
+
+    private static final int MAGIC = 0x4C4F4741;
+    // Subir al cambiar el formato
+    public static final int FORMAT_VERSION = 1;
+    // Al final del archivo: posición y largo del pie comprimido, y el magic otra vez
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int NULL_ID = -1;
+
+    // Campos de texto en el orden de los diccionarios
+    private static final LogField[] STRING_FIELDS = {
+            LogField.ENDPOINT, LogField.METHOD, LogField.LEVEL, LogField.THREAD, LogField.MESSAGE, LogField.ERROR_MESSAGE
+    };
+
+    private final int blockEntries;
+
+    public LogArchive(int blockEntries) {
+        this.blockEntries = Math.max(1, blockEntries);
+    }
+
+    // Índice de un bloque: entradas, rango de tiempo, offsets en el NDJSON original [firstOffset, endOffset),
+    // dónde está el bloque comprimido dentro del archivo y cuánto mide descomprimido
+    public record Block(int entryCount, long minTimestamp, long maxTimestamp, long firstOffset, long endOffset,
+                        long position, int compressedLength, int rawLength) {
+    }
+
+    public Writer writer(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    // Entradas cuyo offset en el NDJSON original cae dentro de [start, limit); devuelve cuántas leyó
+    public int read(Path file, long start, long limit, Set<LogField> fields, MappedLogReader.EntryConsumer consumer) throws IOException {
+        return scan(file, fields, block -> block.firstOffset() < limit && block.endOffset() > start,
+                (timestamp, entryStart, entryEnd) -> entryStart >= start && entryEnd <= limit, consumer);
+    }
+
+    // Entradas con timestamp dentro de [from, to]; los bloques fuera del rango no se descomprimen
+    public int readRange(Path file, long from, long to, Set<LogField> fields, MappedLogReader.EntryConsumer consumer) throws IOException {
+        return scan(file, fields, block -> block.minTimestamp() <= to && block.maxTimestamp() >= from,
+                (timestamp, entryStart, entryEnd) -> timestamp >= from && timestamp <= to, consumer);
+    }
+
+    // Solo el índice de bloques, sin descomprimir ninguno
+    public List<Block> blocks(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readFooter(channel).blocks;
+        }
+    }
+
+    private interface BlockFilter {
+        boolean matches(Block block);
+    }
+
+    private interface EntryFilter {
+        boolean matches(long timestamp, long start, long end);
+    }
+
+    private int scan(Path file, Set<LogField> fields, BlockFilter blockFilter, EntryFilter entryFilter,
+                     MappedLogReader.EntryConsumer consumer) throws IOException {
+        boolean[] wanted = new boolean[LogField.values().length];
+        for (LogField field : fields) {
+            wanted[field.ordinal()] = true;
+        }
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel);
+            Inflater inflater = new Inflater();
+            // Reutilizados entre bloques: solo crecen hasta el bloque más grande leído
+            byte[] raw = new byte[0];
+            Columns columns = new Columns(0);
+            try {
+                for (Block block : footer.blocks) {
+                    if (!blockFilter.matches(block)) {
+                        continue;
+                    }
+                    if (raw.length < block.rawLength()) {
+                        raw = new byte[block.rawLength()];
+                    }
+                    if (columns.capacity() < block.entryCount()) {
+                        columns = new Columns(block.entryCount());
+                    }
+                    inflateBlock(inflater, readFully(channel, block.position(), block.compressedLength()), raw, block.rawLength());
+                    columns.decode(ByteBuffer.wrap(raw, 0, block.rawLength()), block.entryCount());
+                    for (int i = 0; i < block.entryCount(); i++) {
+                        if (entryFilter.matches(columns.timestamps[i], columns.starts[i], columns.ends[i])) {
+                            consumer.accept(columns.entry(i, footer.dictionaries, wanted), columns.starts[i], columns.ends[i]);
+                            count++;
+                        }
+                    }
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+        return count;
+    }
+
+    private static Footer readFooter(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < Integer.BYTES * 2 + TRAILER_BYTES) {
+            throw new IOException("Archive too short");
+        }
+        ByteBuffer header = readFully(channel, 0, Integer.BYTES * 2);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a log archive");
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported archive version " + version);
+        }
+        ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+        long footerPosition = trailer.getLong();
+        int footerLength = trailer.getInt();
+        if (trailer.getInt() != MAGIC) {
+            throw new IOException("Archive without footer");
+        }
+
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                inflate(inflater, readFully(channel, footerPosition, footerLength))))) {
+            String[][] dictionaries = new String[STRING_FIELDS.length][];
+            for (int d = 0; d < dictionaries.length; d++) {
+                dictionaries[d] = new String[in.readInt()];
+                for (int id = 0; id < dictionaries[d].length; id++) {
+                    byte[] value = new byte[in.readInt()];
+                    in.readFully(value);
+                    dictionaries[d][id] = new String(value, StandardCharsets.UTF_8);
+                }
+            }
+            int blockCount = in.readInt();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int b = 0; b < blockCount; b++) {
+                blocks.add(new Block(in.readInt(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readLong(), in.readInt(), in.readInt()));
+            }
+            return new Footer(dictionaries, blocks);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void inflateBlock(Inflater inflater, ByteBuffer compressed, byte[] raw, int rawLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (length < rawLength) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                length += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        }
+    }
+
+    private static byte[] inflate(Inflater inflater, ByteBuffer compressed) throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.remaining() * 4);
+        byte[] buffer = new byte[64 * 1024];
+        try {
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                out.write(buffer, 0, length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Footer(String[][] dictionaries, List<Block> blocks) {
+    }
+
+    // Un bloque por columnas. Timestamps y offsets van como diferencias con la entrada anterior,
+    // que son números chicos y repetidos que Deflater comprime mucho mejor
+    private static final class Columns {
+        private final long[] timestamps;
+        private final long[] responseTimes;
+        private final int[] statuses;
+        private final int[][] stringIds;
+        private final long[] starts;
+        private final long[] ends;
+
+        private Columns(int capacity) {
+            timestamps = new long[capacity];
+            responseTimes = new long[capacity];
+            statuses = new int[capacity];
+            stringIds = new int[STRING_FIELDS.length][capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+        }
+
+        private void encode(DataOutputStream out, int count) throws IOException {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                out.writeLong(timestamps[i] - previous);
+                previous = timestamps[i];
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeLong(responseTimes[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeInt(statuses[i]);
+            }
+            for (int[] ids : stringIds) {
+                for (int i = 0; i < count; i++) {
+                    out.writeInt(ids[i]);
+                }
+            }
+            long previousEnd = 0;
+            for (int i = 0; i < count; i++) {
+                out.writeLong(starts[i] - previousEnd);
+                out.writeInt((int) (ends[i] - starts[i]));
+                previousEnd = ends[i];
+            }
+        }
+
+        private int capacity() {
+            return timestamps.length;
+        }
+
+        // Big-endian, igual que DataOutputStream en encode
+        private void decode(ByteBuffer in, int count) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += in.getLong();
+                timestamps[i] = previous;
+            }
+            for (int i = 0; i < count; i++) {
+                responseTimes[i] = in.getLong();
+            }
+            for (int i = 0; i < count; i++) {
+                statuses[i] = in.getInt();
+            }
+            for (int[] ids : stringIds) {
+                for (int i = 0; i < count; i++) {
+                    ids[i] = in.getInt();
+                }
+            }
+            long previousEnd = 0;
+            for (int i = 0; i < count; i++) {
+                starts[i] = previousEnd + in.getLong();
+                ends[i] = starts[i] + in.getInt();
+                previousEnd = ends[i];
+            }
+        }
+
+        private LogEntry entry(int i, String[][] dictionaries, boolean[] wanted) {
+            LogEntry entry = new LogEntry();
+            for (int d = 0; d < STRING_FIELDS.length; d++) {
+                if (!wanted[STRING_FIELDS[d].ordinal()]) {
+                    continue;
+                }
+                int id = stringIds[d][i];
+                String value = id == NULL_ID ? null : dictionaries[d][id];
+                switch (STRING_FIELDS[d]) {
+                    case ENDPOINT -> entry.setEndpoint(value);
+                    case METHOD -> entry.setMethod(value);
+                    case LEVEL -> entry.setLevel(value);
+                    case THREAD -> entry.setThread(value);
+                    case MESSAGE -> entry.setMessage(value);
+                    case ERROR_MESSAGE -> entry.setErrorMessage(value);
+                    default -> throw new IllegalStateException();
+                }
+            }
+            if (wanted[LogField.RESPONSE_TIME.ordinal()]) {
+                entry.setResponseTimeMs(responseTimes[i]);
+            }
+            if (wanted[LogField.STATUS.ordinal()]) {
+                entry.setStatus(statuses[i]);
+            }
+            if (wanted[LogField.TIMESTAMP.ordinal()]) {
+                entry.setTimestamp(Instant.ofEpochMilli(timestamps[i]).toString());
+            }
+            return entry;
+        }
+    }
+
+    // Escribe un archivo nuevo entrada por entrada (en el orden del segmento); close() agrega el pie
+    public final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final Columns columns = new Columns(blockEntries);
+        private final List<Map<String, Integer>> ids = new ArrayList<>();
+        private final List<List<String>> values = new ArrayList<>();
+        private final List<Block> blocks = new ArrayList<>();
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        private int count;
+        private long position;
+        private boolean closed;
+
+        private Writer(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            for (int d = 0; d < STRING_FIELDS.length; d++) {
+                ids.add(new HashMap<>());
+                values.add(new ArrayList<>());
+            }
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            write(header);
+        }
+
+        // Misma firma que MappedLogReader.EntryConsumer, para archivar directo mientras se lee el segmento
+        public void add(LogEntry entry, long start, long end) throws IOException {
+            columns.timestamps[count] = LogSegmentStore.parseTimestamp(entry.getTimestamp());
+            columns.responseTimes[count] = entry.getResponseTimeMs();
+            columns.statuses[count] = entry.getStatus();
+            columns.stringIds[0][count] = idOf(0, entry.getEndpoint());
+            columns.stringIds[1][count] = idOf(1, entry.getMethod());
+            columns.stringIds[2][count] = idOf(2, entry.getLevel());
+            columns.stringIds[3][count] = idOf(3, entry.getThread());
+            columns.stringIds[4][count] = idOf(4, entry.getMessage());
+            columns.stringIds[5][count] = idOf(5, entry.getErrorMessage());
+            columns.starts[count] = start;
+            columns.ends[count] = end;
+            if (++count == blockEntries) {
+                flushBlock();
+            }
+        }
+
+        public long sizeBytes() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flushBlock();
+                encoded.reset();
+                DataOutputStream out = new DataOutputStream(encoded);
+                for (List<String> dictionary : values) {
+                    out.writeInt(dictionary.size());
+                    for (String value : dictionary) {
+                        // Largo + UTF-8: writeUTF no acepta mensajes de más de 64 KB
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(bytes.length);
+                        out.write(bytes);
+                    }
+                }
+                out.writeInt(blocks.size());
+                for (Block block : blocks) {
+                    out.writeInt(block.entryCount());
+                    out.writeLong(block.minTimestamp());
+                    out.writeLong(block.maxTimestamp());
+                    out.writeLong(block.firstOffset());
+                    out.writeLong(block.endOffset());
+                    out.writeLong(block.position());
+                    out.writeInt(block.compressedLength());
+                    out.writeInt(block.rawLength());
+                }
+                long footerPosition = position;
+                int footerLength = write(deflate());
+                write(ByteBuffer.allocate(TRAILER_BYTES).putLong(footerPosition).putInt(footerLength).putInt(MAGIC).flip());
+                channel.force(true);
+            } finally {
+                deflater.end();
+                channel.close();
+            }
+        }
+
+        private int idOf(int dictionary, String value) {
+            if (value == null) {
+                return NULL_ID;
+            }
+            return ids.get(dictionary).computeIfAbsent(value, key -> {
+                values.get(dictionary).add(key);
+                return values.get(dictionary).size() - 1;
+            });
+        }
+
+        private void flushBlock() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            encoded.reset();
+            columns.encode(new DataOutputStream(encoded), count);
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, columns.timestamps[i]);
+                max = Math.max(max, columns.timestamps[i]);
+            }
+            long blockPosition = position;
+            int length = write(deflate());
+            blocks.add(new Block(count, min, max, columns.starts[0], columns.ends[count - 1], blockPosition, length,
+                    encoded.size()));
+            count = 0;
+        }
+
+        private ByteBuffer deflate() {
+            deflater.reset();
+            deflater.setInput(encoded.toByteArray());
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(1024, encoded.size() / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return ByteBuffer.wrap(buffer, 0, length);
+        }
+
+        private int write(ByteBuffer bytes) throws IOException {
+            int length = bytes.remaining();
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes);
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package cr.una.ac.proyecto_01.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Mantenimiento de los segmentos sellados: los que solo tienen entradas más viejas que
+// archiveAfter pasan a LogArchive (comprimidos por bloques) y los que pasan la retención se
+// borran. Con la misma retención LogService suelta esas filas de memoria y de sus snapshots;
+// el historial resumido no se pierde: los acumulados y los rollups por día siguen teniéndolo.
+@Slf4j
+@Component
+public class LogArchiver {
+
+    private final LogSegmentStore segmentStore;
+    private final LogArchive format;
+    private final long archiveAfterMillis;
+    private final long retentionMillis;
+
+    public LogArchiver(LogSegmentStore segmentStore,
+                       @Value("${logs.archive.after-hours:24}") long archiveAfterHours,
+                       @Value("${logs.archive.block-entries:4096}") int blockEntries,
+                       @Value("${logs.retention.max-age-days:0}") long retentionDays) {
+        this.segmentStore = segmentStore;
+        this.format = new LogArchive(blockEntries);
+        this.archiveAfterMillis = TimeUnit.HOURS.toMillis(archiveAfterHours);
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${logs.archive.interval-ms:3600000}", initialDelayString = "${logs.archive.interval-ms:3600000}")
+    public void maintainSafely() {
+        try {
+            maintain(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("Could not archive or expire log segments", e);
+        }
+    }
+
+    // Borra lo que pasó la retención (0 = sin retención) y archiva lo que pasó archiveAfter;
+    // devuelve cuántos segmentos archivó
+    public int maintain(long nowMillis) throws IOException {
+        int archived = 0;
+        for (LogSegment segment : segmentStore.segments()) {
+            if (!segment.isSealed()) {
+                continue;
+            }
+            if (retentionMillis > 0 && segment.getMaxTimestamp() < nowMillis - retentionMillis) {
+                segmentStore.delete(segment.getId());
+                log.info("Deleted segment {} past retention", segment.getId());
+                continue;
+            }
+            if (!segment.isArchived() && segment.getMaxTimestamp() < nowMillis - archiveAfterMillis
+                    && segmentStore.archive(segment.getId(), format)) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,46 @@
+package cr.una.ac.proyecto_01.logging;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Campos de una entrada de log tal como se llaman en el JSON. Un lector recibe el conjunto
+// de campos que necesita y salta los demás sin decodificarlos.
+public enum LogField {
+    ENDPOINT("endpoint"),
+    METHOD("method"),
+    LEVEL("level"),
+    RESPONSE_TIME("responseTimeMs"),
+    THREAD("thread"),
+    MESSAGE("message"),
+    TIMESTAMP("timestamp"),
+    STATUS("status"),
+    ERROR_MESSAGE("errorMessage");
+
+    public static final Set<LogField> ALL = Collections.unmodifiableSet(EnumSet.allOf(LogField.class));
+
+    private static final Map<String, LogField> BY_NAME = new HashMap<>();
+
+    static {
+        for (LogField field : values()) {
+            BY_NAME.put(field.jsonName, field);
+        }
+    }
+
+    private final String jsonName;
+
+    LogField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    // null si el nombre no es un campo conocido
+    public static LogField forName(String jsonName) {
+        return BY_NAME.get(jsonName);
+    }
+}
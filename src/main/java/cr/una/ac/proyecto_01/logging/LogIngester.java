@@ -0,0 +1,163 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Sigue (tail) los segmentos de LogSegmentStore, leyéndolos mapeados en memoria.
+// Recuerda el segmento y el offset en bytes ya leídos, así en cada ciclo solo procesa
+// las entradas nuevas y las entrega a los listeners (el estado de los reportes). Esa posición
+// es la que guardan los snapshots de LogService para retomar desde ahí al reiniciar.
+@Slf4j
+@Component
+public class LogIngester {
+
+    private final LogSegmentStore segmentStore;
+    private final long pollIntervalMillis;
+    private final List<Consumer<LogEntry>> listeners = new CopyOnWriteArrayList<>();
+
+    // Posición de lectura, solo la modifica el hilo del ingester
+    private volatile long segmentId = 1;
+    private volatile long offset;
+    // Un poll completo se hace con el lock tomado, así un checkpoint nunca ve la posición a mitad de camino
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private ScheduledExecutorService executor;
+
+    public LogIngester(LogSegmentStore segmentStore,
+                       @Value("${logs.ingest.poll-interval-ms:500}") long pollIntervalMillis) {
+        this.segmentStore = segmentStore;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public void addListener(Consumer<LogEntry> listener) {
+        listeners.add(listener);
+    }
+
+    // Recibe la posición hasta la que los listeners ya recibieron todas las entradas
+    @FunctionalInterface
+    public interface CheckpointAction<T> {
+        T apply(long segmentId, long offset) throws IOException;
+    }
+
+    // Arranca cuando el contexto está listo, así el inicio no depende del tamaño de los logs
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-ingester");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    public long getSegmentId() {
+        return segmentId;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    // Corre action sin ningún poll en curso: mientras dura, los listeners no reciben entradas
+    // y la posición que recibe corresponde exactamente a lo que ya procesaron
+    public <T> T atCheckpoint(CheckpointAction<T> action) throws IOException {
+        pollLock.lock();
+        try {
+            return action.apply(segmentId, offset);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // true si se puede seguir desde esa posición: el segmento existe y llega hasta offset, o ya no
+    // existe pero hay segmentos posteriores. Si no, los segmentos no son los mismos que se leyeron
+    public boolean canResumeFrom(long segmentId, long offset) {
+        for (LogSegment segment : segmentStore.segments()) {
+            if (segment.getId() == segmentId) {
+                return segment.getSizeBytes() >= offset;
+            }
+            if (segment.getId() > segmentId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sigue leyendo desde una posición cuyas entradas ya tienen los listeners (la de un snapshot)
+    public void seek(long segmentId, long offset) {
+        pollLock.lock();
+        try {
+            this.segmentId = segmentId;
+            this.offset = offset;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // Lee todo lo que se haya agregado desde la última posición; devuelve cuántas entradas leyó
+    public int poll() throws IOException {
+        pollLock.lock();
+        try {
+            int count = 0;
+            for (LogSegment segment : segmentStore.segments()) {
+                if (segment.getId() < segmentId) {
+                    continue;
+                }
+                if (segment.getId() > segmentId) {
+                    segmentId = segment.getId();
+                    offset = 0;
+                }
+                if (segment.getSizeBytes() > offset) {
+                    count += readFrom(segment);
+                }
+            }
+            return count;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private int readFrom(LogSegment segment) throws IOException {
+        int count = segmentStore.read(segment.getId(), offset, segment.getSizeBytes(), LogField.ALL, (entry, start, end) -> {
+            for (Consumer<LogEntry> listener : listeners) {
+                listener.accept(entry);
+            }
+            offset = end;
+        });
+        // Solo se leen líneas completas, así que al terminar quedamos al final de lo confirmado
+        offset = segment.getSizeBytes();
+        return count;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.error("Could not ingest new log entries from segment {} at offset {}", segmentId, offset, e);
+        }
+    }
+}
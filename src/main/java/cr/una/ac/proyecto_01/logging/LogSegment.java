@@ -0,0 +1,46 @@
+package cr.una.ac.proyecto_01.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Índice (sidecar) de un segmento NDJSON: cantidad de entradas, rango de tiempo y offsets.
+// Un segmento archivado ya no tiene el NDJSON sino un LogArchive; sizeBytes sigue siendo el
+// tamaño del NDJSON original porque las posiciones de lectura se expresan en esos offsets
+@Data
+@NoArgsConstructor
+public class LogSegment {
+    private long id;
+    private long entryCount;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long sizeBytes;
+    private long createdAt;
+    private boolean sealed;
+    private boolean archived;
+    private long archivedBytes;
+    // Offset en bytes de una de cada N entradas, para poder saltar dentro del segmento
+    private List<IndexPoint> offsets = new ArrayList<>();
+
+    public LogSegment(long id, long createdAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    // true si el segmento puede contener entradas dentro de [from, to]
+    public boolean overlaps(long from, long to) {
+        return entryCount > 0 && minTimestamp <= to && maxTimestamp >= from;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class IndexPoint {
+        private long entry;
+        private long offset;
+        private long timestamp;
+    }
+}
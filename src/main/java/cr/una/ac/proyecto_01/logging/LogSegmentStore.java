@@ -0,0 +1,515 @@
+package cr.una.ac.proyecto_01.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Almacenamiento de logs en segmentos NDJSON de solo anexado (una entrada por línea).
+// Cada segmento rota por tamaño o por antigüedad y, al sellarse, deja un índice sidecar
+// con su cantidad de entradas, rango de tiempo y offsets. Los segmentos sellados viejos se
+// pueden archivar (LogArchive, comprimido por bloques) y borrar al pasar la retención.
+@Slf4j
+@Component
+public class LogSegmentStore {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String DATA_SUFFIX = ".ndjson";
+    private static final String INDEX_SUFFIX = ".idx.json";
+    private static final String ARCHIVE_SUFFIX = ".archive";
+    private static final int LEGACY_IMPORT_BATCH = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectWriter entryWriter = objectMapper.writerFor(LogEntry.class);
+    private final MappedLogReader reader;
+    // Solo para leer archivos ya escritos; el tamaño de bloque lo decide quien archiva
+    private final LogArchive archiveReader = new LogArchive(LogArchive.DEFAULT_BLOCK_ENTRIES);
+
+    private final Path directory;
+    private final Path legacyFile;
+    private final long maxSegmentBytes;
+    private final long maxSegmentAgeMillis;
+    private final int indexInterval;
+
+    // Segmentos sellados, ordenados por id
+    private final List<LogSegment> sealedSegments = new CopyOnWriteArrayList<>();
+    private volatile LogSegment active;
+    private FileChannel activeChannel;
+    // ReentrantLock y no synchronized: append escribe al disco con el lock tomado y un hilo
+    // virtual bloqueado en un monitor (o haciendo I/O dentro de él) fija su hilo portador
+    private final ReentrantLock lock = new ReentrantLock();
+    // Buffer de cada lote, reutilizado entre escrituras (solo se usa con el lock tomado)
+    private final BatchBuffer buffer = new BatchBuffer();
+
+    public LogSegmentStore(String directory, String legacyFile, long maxSegmentBytes, long maxSegmentAgeMinutes,
+                           int indexInterval) throws IOException {
+        this(directory, legacyFile, maxSegmentBytes, maxSegmentAgeMinutes, indexInterval, MappedLogReader.DEFAULT_WINDOW_BYTES);
+    }
+
+    @Autowired
+    public LogSegmentStore(@Value("${logs.storage.dir:src/main/java/cr/una/ac/proyecto_01/logs/segments}") String directory,
+                           @Value("${logs.storage.file:src/main/java/cr/una/ac/proyecto_01/logs/log.json}") String legacyFile,
+                           @Value("${logs.segment.max-bytes:67108864}") long maxSegmentBytes,
+                           @Value("${logs.segment.max-age-minutes:60}") long maxSegmentAgeMinutes,
+                           @Value("${logs.segment.index-interval:1024}") int indexInterval,
+                           @Value("${logs.read.window-bytes:268435456}") long readWindowBytes) throws IOException {
+        this.reader = new MappedLogReader(readWindowBytes);
+        this.directory = Path.of(directory);
+        this.legacyFile = Path.of(legacyFile);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAgeMillis = TimeUnit.MINUTES.toMillis(maxSegmentAgeMinutes);
+        this.indexInterval = indexInterval;
+        open();
+    }
+
+    // Agrega un lote al segmento activo con una sola escritura
+    public void append(List<LogEntry> batch) throws IOException {
+        lock.lock();
+        try {
+            appendLocked(batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendLocked(List<LogEntry> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (shouldRotate()) {
+            rotate();
+        }
+
+        LogSegment segment = active;
+        long offset = segment.getSizeBytes();
+        buffer.reset();
+        for (LogEntry entry : batch) {
+            long timestamp = parseTimestamp(entry.getTimestamp());
+            track(segment, offset + buffer.size(), timestamp);
+            // JSON compacto escrito directo al buffer, sin un byte[] intermedio por entrada
+            entryWriter.writeValue(buffer, entry);
+            buffer.write('\n');
+        }
+
+        ByteBuffer bytes = buffer.asByteBuffer();
+        while (bytes.hasRemaining()) {
+            activeChannel.write(bytes);
+        }
+        segment.setSizeBytes(offset + buffer.size());
+    }
+
+    // Segmentos en orden, incluido el activo (con una copia de su estado actual)
+    public List<LogSegment> segments() {
+        lock.lock();
+        try {
+            List<LogSegment> all = new ArrayList<>(sealedSegments);
+            all.add(copyOf(active));
+            return all;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Recorre segmento por segmento las entradas con timestamp dentro de [from, to],
+    // saltando sin leer los segmentos cuyo rango de tiempo no se cruza
+    public void forEachEntry(long from, long to, Consumer<LogEntry> consumer) {
+        forEachEntry(from, to, LogField.ALL, consumer);
+    }
+
+    // Igual, pero decodificando solo los campos pedidos. Un segmento que cae entero dentro del
+    // rango se entrega sin filtrar; en los de los bordes se lee también el timestamp para filtrar
+    public void forEachEntry(long from, long to, Set<LogField> fields, Consumer<LogEntry> consumer) {
+        Set<LogField> withTimestamp = EnumSet.of(LogField.TIMESTAMP);
+        withTimestamp.addAll(fields);
+        for (LogSegment segment : segments()) {
+            if (!segment.overlaps(from, to)) {
+                continue;
+            }
+            if (segment.isArchived()) {
+                // El índice de bloques ya descarta por tiempo; solo se descomprimen los bloques del rango
+                try {
+                    readArchive(segment.getId(), file -> archiveReader.readRange(file, from, to, fields,
+                            (entry, start, end) -> consumer.accept(entry)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                continue;
+            }
+            if (segment.getMinTimestamp() >= from && segment.getMaxTimestamp() <= to) {
+                readSegment(segment, fields, consumer);
+                continue;
+            }
+            readSegment(segment, withTimestamp, entry -> {
+                long timestamp = parseTimestamp(entry.getTimestamp());
+                if (timestamp >= from && timestamp <= to) {
+                    consumer.accept(entry);
+                }
+            });
+        }
+    }
+
+    public void forEachEntry(Consumer<LogEntry> consumer) {
+        for (LogSegment segment : segments()) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    // Lee las entradas de un segmento hasta el último byte confirmado
+    public void readSegment(LogSegment segment, Consumer<LogEntry> consumer) {
+        readSegment(segment, LogField.ALL, consumer);
+    }
+
+    public void readSegment(LogSegment segment, Set<LogField> fields, Consumer<LogEntry> consumer) {
+        try {
+            read(segment.getId(), 0, segment.getSizeBytes(), fields, (entry, start, end) -> consumer.accept(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Lee las entradas entre los bytes [start, limit) de un segmento, mapeado en memoria; si está
+    // archivado, descomprime solo los bloques que cubren esos offsets del NDJSON original.
+    // archive() y delete() no esperan a los lectores: un archivo ya abierto se sigue leyendo aunque
+    // lo borren, y si desapareció antes de abrirlo (todavía sin entregar nada) se vuelve a mirar el segmento
+    public int read(long segmentId, long start, long limit, Set<LogField> fields,
+                    MappedLogReader.EntryConsumer consumer) throws IOException {
+        LogSegment segment = sealed(segmentId);
+        if (segment != null && segment.isArchived()) {
+            return readArchive(segmentId, file -> archiveReader.read(file, start, limit, fields, consumer));
+        }
+        try {
+            return reader.read(dataPath(segmentId), start, limit, fields, consumer);
+        } catch (NoSuchFileException e) {
+            LogSegment current = sealed(segmentId);
+            if (current != null && current.isArchived()) {
+                // archive() lo pasó a LogArchive y borró el NDJSON en el medio
+                return readArchive(segmentId, file -> archiveReader.read(file, start, limit, fields, consumer));
+            }
+            if (deleted(segmentId)) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    // Un id anterior al segmento activo que ya no está entre los sellados lo borró delete() (retención)
+    private boolean deleted(long segmentId) {
+        return sealed(segmentId) == null && segmentId < active.getId();
+    }
+
+    private interface ArchiveRead {
+        int read(Path file) throws IOException;
+    }
+
+    private int readArchive(long segmentId, ArchiveRead read) throws IOException {
+        try {
+            return read.read(archivePath(segmentId));
+        } catch (NoSuchFileException e) {
+            if (deleted(segmentId)) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    // Pasa un segmento sellado a un LogArchive y borra su NDJSON. El archivo se escribe a un
+    // temporal que se renombra y recién después se marca el sidecar: si se corta a mitad de camino,
+    // al abrir se descarta el archivo a medias y el segmento sigue como NDJSON
+    public boolean archive(long segmentId, LogArchive format) throws IOException {
+        LogSegment segment = sealed(segmentId);
+        if (segment == null || segment.isArchived()) {
+            return false;
+        }
+        Path target = archivePath(segmentId);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long archivedBytes;
+        try {
+            LogArchive.Writer writer = format.writer(temp);
+            try (writer) {
+                reader.read(dataPath(segmentId), 0, segment.getSizeBytes(), LogField.ALL, writer::add);
+            }
+            archivedBytes = writer.sizeBytes();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        LogSegment archived = copyOf(segment);
+        archived.setArchived(true);
+        archived.setArchivedBytes(archivedBytes);
+        // Los offsets por entrada del sidecar eran para saltar dentro del NDJSON; el archivo tiene su índice
+        archived.setOffsets(new ArrayList<>());
+        seal(archived);
+        replaceSealed(archived);
+        Files.deleteIfExists(dataPath(segmentId));
+        log.info("Archived segment {}: {} -> {} bytes", segmentId, segment.getSizeBytes(), archivedBytes);
+        return true;
+    }
+
+    // Borra un segmento sellado (archivado o no) con su sidecar; el activo nunca se borra
+    public boolean delete(long segmentId) throws IOException {
+        lock.lock();
+        try {
+            if (!sealedSegments.removeIf(segment -> segment.getId() == segmentId)) {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        Files.deleteIfExists(dataPath(segmentId));
+        Files.deleteIfExists(archivePath(segmentId));
+        Files.deleteIfExists(indexPath(segmentId));
+        return true;
+    }
+
+    public Path archivePath(long segmentId) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, ARCHIVE_SUFFIX));
+    }
+
+    public Path dataPath(long segmentId) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, DATA_SUFFIX));
+    }
+
+    public Path indexPath(long segmentId) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, INDEX_SUFFIX));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+                activeChannel.close();
+                activeChannel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static long parseTimestamp(String timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        try {
+            return Instant.parse(timestamp).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path temp : files.filter(path -> path.getFileName().toString().endsWith(ARCHIVE_SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        List<Long> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && (name.endsWith(DATA_SUFFIX) || name.endsWith(ARCHIVE_SUFFIX)))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.lastIndexOf('.'))))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        }
+
+        for (Long id : ids) {
+            Path index = indexPath(id);
+            LogSegment indexed = Files.exists(index) ? objectMapper.readValue(index.toFile(), LogSegment.class) : null;
+            if (indexed != null && indexed.isArchived()) {
+                if (Files.exists(archivePath(id))) {
+                    // El NDJSON que quedó si se cortó justo después de archivar
+                    Files.deleteIfExists(dataPath(id));
+                    sealedSegments.add(indexed);
+                } else {
+                    log.warn("Archived segment {} has no archive file, skipping it", id);
+                }
+                continue;
+            }
+            // Un archivo sin marcar en el sidecar quedó de un archivado que no terminó
+            Files.deleteIfExists(archivePath(id));
+            if (!Files.exists(dataPath(id))) {
+                continue;
+            }
+            if (indexed != null && indexed.isSealed()) {
+                sealedSegments.add(indexed);
+                continue;
+            }
+            if (!id.equals(ids.getLast())) {
+                // Segmento que quedó sin sellar por una caída: se reconstruye su índice y se sella
+                LogSegment segment = recover(id);
+                seal(segment);
+                sealedSegments.add(segment);
+            }
+        }
+
+        if (!ids.isEmpty() && Files.exists(dataPath(ids.getLast()))
+                && sealedSegments.stream().noneMatch(s -> s.getId() == ids.getLast())) {
+            active = recover(ids.getLast());
+            activeChannel = FileChannel.open(dataPath(active.getId()), StandardOpenOption.WRITE);
+            activeChannel.truncate(active.getSizeBytes());
+            activeChannel.position(active.getSizeBytes());
+        } else {
+            long nextId = ids.isEmpty() ? 1 : ids.getLast() + 1;
+            startSegment(nextId);
+            if (ids.isEmpty()) {
+                importLegacyFile();
+            }
+        }
+    }
+
+    // Migra una sola vez el arreglo JSON anterior (log.json) al primer segmento, por lotes
+    // y leyendo el archivo mapeado, así su tamaño no depende del heap
+    private void importLegacyFile() throws IOException {
+        if (!Files.exists(legacyFile) || Files.size(legacyFile) == 0) {
+            return;
+        }
+        List<LogEntry> batch = new ArrayList<>(LEGACY_IMPORT_BATCH);
+        int imported = reader.read(legacyFile, 0, Files.size(legacyFile), LogField.ALL, (entry, start, end) -> {
+            batch.add(entry);
+            if (batch.size() == LEGACY_IMPORT_BATCH) {
+                append(batch);
+                batch.clear();
+            }
+        });
+        append(batch);
+        log.info("Imported {} entries from {} into {}", imported, legacyFile, dataPath(active.getId()));
+    }
+
+    // Reconstruye el índice de un segmento leyendo sus líneas completas; solo hace falta el timestamp
+    private LogSegment recover(long id) throws IOException {
+        Path data = dataPath(id);
+        LogSegment segment = new LogSegment(id, Files.getLastModifiedTime(data).toMillis());
+        // Una línea incompleta al final se descarta
+        long complete = reader.lastLineEnd(data);
+        reader.read(data, 0, complete, EnumSet.of(LogField.TIMESTAMP),
+                (entry, start, end) -> track(segment, start, parseTimestamp(entry.getTimestamp())));
+        segment.setSizeBytes(complete);
+        return segment;
+    }
+
+    private void track(LogSegment segment, long offset, long timestamp) {
+        if (segment.getEntryCount() % indexInterval == 0) {
+            segment.getOffsets().add(new LogSegment.IndexPoint(segment.getEntryCount(), offset, timestamp));
+        }
+        segment.setEntryCount(segment.getEntryCount() + 1);
+        segment.setMinTimestamp(Math.min(segment.getMinTimestamp(), timestamp));
+        segment.setMaxTimestamp(Math.max(segment.getMaxTimestamp(), timestamp));
+    }
+
+    private boolean shouldRotate() {
+        if (active.getSizeBytes() == 0) {
+            return false;
+        }
+        return active.getSizeBytes() >= maxSegmentBytes
+                || System.currentTimeMillis() - active.getCreatedAt() >= maxSegmentAgeMillis;
+    }
+
+    private void rotate() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        seal(active);
+        sealedSegments.add(active);
+        startSegment(active.getId() + 1);
+    }
+
+    private void startSegment(long id) throws IOException {
+        active = new LogSegment(id, System.currentTimeMillis());
+        activeChannel = FileChannel.open(dataPath(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // El sidecar se escribe en un archivo temporal y se renombra, nunca queda a medias
+    private void seal(LogSegment segment) throws IOException {
+        segment.setSealed(true);
+        Path index = indexPath(segment.getId());
+        Path temp = index.resolveSibling(index.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), segment);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private LogSegment sealed(long segmentId) {
+        for (LogSegment segment : sealedSegments) {
+            if (segment.getId() == segmentId) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private void replaceSealed(LogSegment segment) {
+        lock.lock();
+        try {
+            sealedSegments.replaceAll(current -> current.getId() == segment.getId() ? segment : current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LogSegment copyOf(LogSegment segment) {
+        LogSegment copy = new LogSegment(segment.getId(), segment.getCreatedAt());
+        copy.setSealed(segment.isSealed());
+        copy.setArchived(segment.isArchived());
+        copy.setArchivedBytes(segment.getArchivedBytes());
+        copy.setEntryCount(segment.getEntryCount());
+        copy.setMinTimestamp(segment.getMinTimestamp());
+        copy.setMaxTimestamp(segment.getMaxTimestamp());
+        copy.setSizeBytes(segment.getSizeBytes());
+        copy.setOffsets(new ArrayList<>(segment.getOffsets()));
+        return copy;
+    }
+
+    // ByteArrayOutputStream que expone su contenido sin copiarlo
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+
+        private static final int INITIAL_BYTES = 64 * 1024;
+        private static final int MAX_RETAINED_BYTES = 4 * 1024 * 1024;
+
+        private BatchBuffer() {
+            super(INITIAL_BYTES);
+        }
+
+        // Un lote enorme (la importación de log.json) no deja retenido su buffer
+        @Override
+        public void reset() {
+            if (buf.length > MAX_RETAINED_BYTES) {
+                buf = new byte[INITIAL_BYTES];
+            }
+            super.reset();
+        }
+
+        private ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
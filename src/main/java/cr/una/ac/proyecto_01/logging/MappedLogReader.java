@@ -0,0 +1,170 @@
+package cr.una.ac.proyecto_01.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import cr.una.ac.proyecto_01.entity.LogEntry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+// Lee entradas de log desde el archivo mapeado en memoria (FileChannel.map), sin copiarlo al heap.
+// El parser no bloqueante de Jackson consume directamente cada ventana mapeada; las ventanas
+// tienen a lo sumo windowBytes (un MappedByteBuffer no pasa de 2 GB) y el parser sigue de una
+// a la siguiente aunque una entrada quede partida entre las dos.
+// Acepta NDJSON (segmentos) y el arreglo JSON anterior (log.json). Los campos que no se piden
+// se saltan sin crear sus String.
+public class MappedLogReader {
+
+    public static final long DEFAULT_WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final long windowBytes;
+
+    public MappedLogReader(long windowBytes) {
+        this.windowBytes = Math.max(1, Math.min(windowBytes, Integer.MAX_VALUE));
+    }
+
+    // Recibe cada entrada con los offsets absolutos donde empieza y termina en el archivo
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(LogEntry entry, long startOffset, long endOffset) throws IOException;
+    }
+
+    // Lee las entradas entre los bytes [start, limit) del archivo; devuelve cuántas leyó
+    public int read(Path file, long start, long limit, Set<LogField> fields, EntryConsumer consumer) throws IOException {
+        if (limit <= start) {
+            return 0;
+        }
+        boolean[] wanted = new boolean[LogField.values().length];
+        for (LogField field : fields) {
+            wanted[field.ordinal()] = true;
+        }
+
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             JsonParser parser = jsonFactory.createNonBlockingByteBufferParser()) {
+            Windows windows = new Windows(channel, start, limit, (ByteBufferFeeder) parser.getNonBlockingInputFeeder());
+            JsonToken token = windows.next(parser);
+            if (token == JsonToken.START_ARRAY) {
+                token = windows.next(parser);
+            }
+            while (token == JsonToken.START_OBJECT) {
+                // Recién leído el '{', la posición actual queda un byte después del inicio de la entrada
+                long entryStart = start + parser.currentLocation().getByteOffset() - 1;
+                LogEntry entry = readEntry(parser, windows, wanted);
+                consumer.accept(entry, entryStart, start + parser.currentLocation().getByteOffset());
+                count++;
+                token = windows.next(parser);
+            }
+        }
+        return count;
+    }
+
+    // Offset justo después del último salto de línea (lo que sigue es una línea incompleta)
+    public long lastLineEnd(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = channel.size();
+            while (end > 0) {
+                long from = Math.max(0, end - 64 * 1024);
+                MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, from, end - from);
+                for (int i = (int) (end - from) - 1; i >= 0; i--) {
+                    if (tail.get(i) == '\n') {
+                        return from + i + 1;
+                    }
+                }
+                end = from;
+            }
+            return 0;
+        }
+    }
+
+    private LogEntry readEntry(JsonParser parser, Windows windows, boolean[] wanted) throws IOException {
+        LogEntry entry = new LogEntry();
+        JsonToken token;
+        while ((token = windows.next(parser)) == JsonToken.FIELD_NAME) {
+            LogField field = LogField.forName(parser.currentName());
+            JsonToken value = windows.next(parser);
+            if (field == null || !wanted[field.ordinal()]) {
+                skipValue(parser, windows, value);
+                continue;
+            }
+            switch (field) {
+                case ENDPOINT -> entry.setEndpoint(text(parser, value));
+                case METHOD -> entry.setMethod(text(parser, value));
+                case LEVEL -> entry.setLevel(text(parser, value));
+                case RESPONSE_TIME -> entry.setResponseTimeMs(parser.getValueAsLong());
+                case THREAD -> entry.setThread(text(parser, value));
+                case MESSAGE -> entry.setMessage(text(parser, value));
+                case TIMESTAMP -> entry.setTimestamp(text(parser, value));
+                case STATUS -> entry.setStatus(parser.getValueAsInt());
+                case ERROR_MESSAGE -> entry.setErrorMessage(text(parser, value));
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected token " + token + " inside a log entry");
+        }
+        return entry;
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    // Los valores de una entrada son escalares; un objeto o arreglo desconocido se salta completo
+    private static void skipValue(JsonParser parser, Windows windows, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT && value != JsonToken.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            JsonToken token = windows.next(parser);
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside a log entry");
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+        }
+    }
+
+    // Ventanas mapeadas consecutivas entre start y limit, entregadas al parser a medida que las pide
+    private final class Windows {
+        private final FileChannel channel;
+        private final long limit;
+        private final ByteBufferFeeder feeder;
+        private long position;
+
+        private Windows(FileChannel channel, long start, long limit, ByteBufferFeeder feeder) {
+            this.channel = channel;
+            this.position = start;
+            this.limit = limit;
+            this.feeder = feeder;
+        }
+
+        private JsonToken next(JsonParser parser) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.NOT_AVAILABLE) {
+                feed();
+            }
+            return token;
+        }
+
+        private void feed() throws IOException {
+            if (position >= limit) {
+                feeder.endOfInput();
+                return;
+            }
+            long size = Math.min(windowBytes, limit - position);
+            feeder.feedInput(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+            position += size;
+        }
+    }
+}
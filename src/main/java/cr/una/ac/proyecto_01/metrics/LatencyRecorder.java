@@ -0,0 +1,80 @@
+package cr.una.ac.proyecto_01.metrics;
+
+import cr.una.ac.proyecto_01.report.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contador, tiempo total y histograma de latencias que se pueden registrar desde muchos hilos
+// sin locks ni reservar memoria: LongAdder para los totales y buckets fijos (mismo esquema que
+// LatencyHistogram, en microsegundos) en un AtomicLongArray
+public class LatencyRecorder {
+
+    static final double[] PUBLISHED_QUANTILES = {0.5, 0.9, 0.99};
+
+    // Lo que pase de un minuto cae en el último bucket
+    private static final long MAX_TRACKED_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int BUCKETS = LatencyHistogram.bucketIndex(MAX_TRACKED_MICROS) + 1;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    // weight > 1 cuando la medición es una muestra que representa varias llamadas
+    public void record(long nanos, long weight) {
+        long micros = Math.max(nanos, 0) / 1_000;
+        count.add(weight);
+        totalNanos.add(nanos * weight);
+        buckets.addAndGet(Math.min(LatencyHistogram.bucketIndex(micros), BUCKETS - 1), weight);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    // Valor (µs) tal que al menos el percentil p de las llamadas tardó eso o menos
+    public long percentileMicros(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueInBucket(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public Map<String, Object> toMap() {
+        long calls = getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", calls);
+        map.put("meanMs", calls == 0 ? 0 : getTotalNanos() / 1e6 / calls);
+        map.put("p50Ms", percentileMicros(50) / 1e3);
+        map.put("p90Ms", percentileMicros(90) / 1e3);
+        map.put("p99Ms", percentileMicros(99) / 1e3);
+        map.put("maxMs", getMaxMicros() / 1e3);
+        return map;
+    }
+}
@@ -0,0 +1,71 @@
+package cr.una.ac.proyecto_01.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Tiempos por nombre de métrica de los métodos con @LogExecutionTime.
+// Se publican como method.execution (count/sum), method.execution.latency{quantile} y
+// method.execution.slow (llamadas que pasaron el umbral)
+@Component
+public class MethodTimings {
+
+    public static final String EXECUTION_METRIC = "method.execution";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+
+    public MethodTimings(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Se resuelve una vez por método; el aspecto guarda la referencia
+    public Timing timing(String name) {
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            timing = timings.computeIfAbsent(name, this::register);
+        }
+        return timing;
+    }
+
+    public Map<String, Timing> timings() {
+        return new TreeMap<>(timings);
+    }
+
+    private Timing register(String name) {
+        Timing timing = new Timing();
+        FunctionTimer.builder(EXECUTION_METRIC, timing, LatencyRecorder::getCount, LatencyRecorder::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tag("name", name)
+                .register(meterRegistry);
+        for (double quantile : LatencyRecorder.PUBLISHED_QUANTILES) {
+            Gauge.builder(EXECUTION_METRIC + ".latency", timing, t -> t.percentileMicros(quantile * 100) / 1e6)
+                    .tags("name", name, "quantile", String.valueOf(quantile))
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder(EXECUTION_METRIC + ".slow", timing, Timing::getSlowCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        return timing;
+    }
+
+    public static final class Timing extends LatencyRecorder {
+        private final LongAdder slow = new LongAdder();
+
+        public void recordSlow() {
+            slow.increment();
+        }
+
+        public long getSlowCount() {
+            return slow.sum();
+        }
+    }
+}
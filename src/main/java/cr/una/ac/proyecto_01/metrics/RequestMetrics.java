@@ -0,0 +1,142 @@
+package cr.una.ac.proyecto_01.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Métricas en memoria por endpoint + método + estado, alimentadas por PersonaAspect.
+// Registrar no reserva memoria una vez que la serie existe: búsquedas en mapas con las claves
+// que ya trae la petición y un LatencyRecorder por serie. Micrometer las lee al publicar
+// (/actuator/prometheus).
+@Component
+public class RequestMetrics {
+
+    public static final String REQUESTS_METRIC = "http.endpoint.requests";
+    public static final String LATENCY_METRIC = "http.endpoint.latency";
+
+    private static final int MAX_STATUS = 600;
+
+    private final MeterRegistry meterRegistry;
+    // endpoint -> método -> serie por código de estado
+    private final Map<String, Map<String, AtomicReferenceArray<Series>>> series = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // endpoint es el patrón de la ruta (/api/persona/{id}), así los ids no crean series nuevas
+    public void record(String endpoint, String method, int status, long nanos) {
+        series(endpoint, method, status).record(nanos, 1);
+    }
+
+    // Todas las series, ordenadas por endpoint, método y estado
+    public List<Series> series() {
+        List<Series> all = new ArrayList<>();
+        series.forEach((endpoint, byMethod) -> byMethod.forEach((method, byStatus) -> {
+            for (int status = 0; status < byStatus.length(); status++) {
+                Series current = byStatus.get(status);
+                if (current != null) {
+                    all.add(current);
+                }
+            }
+        }));
+        all.sort((a, b) -> {
+            int byEndpoint = a.endpoint.compareTo(b.endpoint);
+            if (byEndpoint != 0) {
+                return byEndpoint;
+            }
+            int byMethod = a.method.compareTo(b.method);
+            return byMethod != 0 ? byMethod : Integer.compare(a.status, b.status);
+        });
+        return all;
+    }
+
+    private Series series(String endpoint, String method, int status) {
+        Map<String, AtomicReferenceArray<Series>> byMethod = series.get(endpoint);
+        if (byMethod == null) {
+            byMethod = series.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+        }
+        AtomicReferenceArray<Series> byStatus = byMethod.get(method);
+        if (byStatus == null) {
+            byStatus = byMethod.computeIfAbsent(method, key -> new AtomicReferenceArray<>(MAX_STATUS));
+        }
+        int index = status >= 0 && status < MAX_STATUS ? status : 0;
+        Series current = byStatus.get(index);
+        if (current == null) {
+            Series created = new Series(endpoint, method, index);
+            if (byStatus.compareAndSet(index, null, created)) {
+                register(created);
+                current = created;
+            } else {
+                current = byStatus.get(index);
+            }
+        }
+        return current;
+    }
+
+    // Solo la primera petición de cada serie registra sus medidores
+    private void register(Series created) {
+        Tags tags = Tags.of("endpoint", created.endpoint, "method", created.method,
+                "status", String.valueOf(created.status), "outcome", created.isError() ? "ERROR" : "SUCCESS");
+        FunctionTimer.builder(REQUESTS_METRIC, created, LatencyRecorder::getCount, LatencyRecorder::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(meterRegistry);
+        for (double quantile : LatencyRecorder.PUBLISHED_QUANTILES) {
+            Gauge.builder(LATENCY_METRIC, created, s -> s.percentileMicros(quantile * 100) / 1e6)
+                    .tags(tags.and("quantile", String.valueOf(quantile)))
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder(LATENCY_METRIC + ".max", created, s -> s.getMaxMicros() / 1e6)
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public static final class Series extends LatencyRecorder {
+        private final String endpoint;
+        private final String method;
+        private final int status;
+
+        private Series(String endpoint, String method, int status) {
+            this.endpoint = endpoint;
+            this.method = method;
+            this.status = status;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isError() {
+            return status >= 400;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("endpoint", endpoint);
+            map.put("method", method);
+            map.put("status", status);
+            map.putAll(super.toMap());
+            return map;
+        }
+    }
+}
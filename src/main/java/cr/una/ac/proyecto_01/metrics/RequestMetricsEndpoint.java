@@ -0,0 +1,51 @@
+package cr.una.ac.proyecto_01.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// /actuator/requests: latencia y tasa de error en vivo por endpoint y método, con el detalle por estado
+@Component
+@Endpoint(id = "requests")
+public class RequestMetricsEndpoint {
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsEndpoint(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> requests() {
+        Map<String, Map<String, Object>> byEndpoint = new LinkedHashMap<>();
+        for (RequestMetrics.Series series : requestMetrics.series()) {
+            String key = series.getMethod() + " " + series.getEndpoint();
+            Map<String, Object> summary = byEndpoint.computeIfAbsent(key, k -> {
+                Map<String, Object> created = new LinkedHashMap<>();
+                created.put("endpoint", series.getEndpoint());
+                created.put("method", series.getMethod());
+                created.put("count", 0L);
+                created.put("errors", 0L);
+                created.put("statuses", new ArrayList<Map<String, Object>>());
+                return created;
+            });
+            summary.merge("count", series.getCount(), (a, b) -> (Long) a + (Long) b);
+            if (series.isError()) {
+                summary.merge("errors", series.getCount(), (a, b) -> (Long) a + (Long) b);
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> statuses = (List<Map<String, Object>>) summary.get("statuses");
+            statuses.add(series.toMap());
+        }
+        byEndpoint.values().forEach(summary -> {
+            long count = (Long) summary.get("count");
+            summary.put("errorRate", count == 0 ? 0 : (double) (Long) summary.get("errors") / count);
+        });
+        return Map.of("endpoints", new ArrayList<>(byEndpoint.values()));
+    }
+}
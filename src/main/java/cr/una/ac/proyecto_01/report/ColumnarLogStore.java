@@ -0,0 +1,394 @@
+package cr.una.ac.proyecto_01.report;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.entity.LogQuery;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Logs en memoria guardados por columnas en arreglos primitivos, en bloques (chunks) de
+// 64K filas: timestamp en epoch millis, status como short, tiempo de respuesta como long y
+// los strings codificados con diccionario. Ocupa ~43 bytes por entrada y los recorridos
+// son bucles simples sobre arreglos contiguos.
+public class ColumnarLogStore {
+
+    public static final int CHUNK_BITS = 16;
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final StringDictionary endpoints = new StringDictionary();
+    private final StringDictionary methods = new StringDictionary();
+    private final StringDictionary levels = new StringDictionary();
+    private final StringDictionary threads = new StringDictionary();
+    private final StringDictionary messages = new StringDictionary();
+    private final StringDictionary errorMessages = new StringDictionary();
+
+    private final LogIndex index = new LogIndex();
+
+    private volatile Chunk[] chunks = new Chunk[8];
+    // Se publica después de escribir la fila, así los lectores solo ven filas completas
+    private volatile int size;
+    // Retención: las filas anteriores a firstRow ya no están (sus chunks se sueltan) y las de
+    // timestamp menor a retainedFrom no se muestran aunque sigan en un chunk. Los números de fila
+    // no cambian, así los cursores de /query y /all siguen valiendo después de recortar
+    private volatile int firstRow;
+    private volatile long retainedFrom = Long.MIN_VALUE;
+
+    public static final class Chunk {
+        public final long[] timestamps = new long[CHUNK_SIZE];
+        public final long[] responseTimes = new long[CHUNK_SIZE];
+        public final short[] statuses = new short[CHUNK_SIZE];
+        public final int[] endpointIds = new int[CHUNK_SIZE];
+        public final int[] methodIds = new int[CHUNK_SIZE];
+        public final int[] levelIds = new int[CHUNK_SIZE];
+        public final int[] threadIds = new int[CHUNK_SIZE];
+        public final int[] messageIds = new int[CHUNK_SIZE];
+        public final int[] errorMessageIds = new int[CHUNK_SIZE];
+        // Clasificación de evento crítico, calculada una sola vez al ingerir
+        public final boolean[] critical = new boolean[CHUNK_SIZE];
+    }
+
+    // Agrega una fila; devuelve su número
+    public int append(LogEntry entry, long epochMillis) {
+        return append(entry, epochMillis, false);
+    }
+
+    public synchronized int append(LogEntry entry, long epochMillis, boolean critical) {
+        int row = size;
+        int chunkIndex = row >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new Chunk();
+        }
+        chunks = current;
+
+        Chunk chunk = current[chunkIndex];
+        int i = row & CHUNK_MASK;
+        chunk.timestamps[i] = epochMillis;
+        chunk.responseTimes[i] = entry.getResponseTimeMs();
+        chunk.statuses[i] = (short) entry.getStatus();
+        chunk.endpointIds[i] = endpoints.idOf(entry.getEndpoint());
+        chunk.methodIds[i] = methods.idOf(entry.getMethod());
+        chunk.levelIds[i] = levels.idOf(entry.getLevel());
+        chunk.threadIds[i] = threads.idOf(entry.getThread());
+        chunk.messageIds[i] = messages.idOf(entry.getMessage());
+        chunk.errorMessageIds[i] = errorMessages.idOf(entry.getErrorMessage());
+        chunk.critical[i] = critical;
+        index.add(row, epochMillis, chunk.endpointIds[i], chunk.methodIds[i], chunk.levelIds[i], entry.getStatus());
+
+        size = row + 1;
+        return row;
+    }
+
+    // Filas agregadas desde el principio, incluidas las que ya se descartaron (fin del rango de filas)
+    public int size() {
+        return size;
+    }
+
+    // Primera fila que sigue en memoria
+    public int firstRow() {
+        return firstRow;
+    }
+
+    public long retainedFrom() {
+        return retainedFrom;
+    }
+
+    // Descarta las filas con timestamp anterior a cutoffMillis: los chunks que quedan enteros antes
+    // del corte se sueltan (también sus páginas del índice) y las que queden sueltas más adelante
+    // (timestamps fuera de orden) se ocultan. Devuelve cuántas filas se soltaron
+    public synchronized int trimBefore(long cutoffMillis) {
+        if (cutoffMillis <= retainedFrom) {
+            return 0;
+        }
+        retainedFrom = cutoffMillis;
+        int size = this.size;
+        int previous = firstRow;
+        int row = previous;
+        while (row < size && timestamp(row) < cutoffMillis) {
+            row++;
+        }
+        firstRow = row;
+        Chunk[] current = chunks;
+        for (int chunkIndex = previous >>> CHUNK_BITS; chunkIndex < row >>> CHUNK_BITS; chunkIndex++) {
+            current[chunkIndex] = null;
+        }
+        index.clearBefore(row);
+        return row - previous;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Cantidad de chunks con datos para un tamaño dado (tomar size() una sola vez al recorrer).
+    // Los chunks anteriores a firstRow() son null
+    public static int chunkCount(int size) {
+        return (size + CHUNK_MASK) >>> CHUNK_BITS;
+    }
+
+    // Filas válidas del chunk para un tamaño dado
+    public static int chunkLength(int chunkIndex, int size) {
+        return Math.min(CHUNK_SIZE, size - (chunkIndex << CHUNK_BITS));
+    }
+
+    public Chunk chunk(int chunkIndex) {
+        return chunks[chunkIndex];
+    }
+
+    public long timestamp(int row) {
+        return chunks[row >>> CHUNK_BITS].timestamps[row & CHUNK_MASK];
+    }
+
+    public int status(int row) {
+        return chunks[row >>> CHUNK_BITS].statuses[row & CHUNK_MASK];
+    }
+
+    // Reconstruye la entrada de una fila; null si la fila ya se descartó por retención
+    public LogEntry entryAt(int row) {
+        if (row < firstRow) {
+            return null;
+        }
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        int i = row & CHUNK_MASK;
+        if (chunk == null || chunk.timestamps[i] < retainedFrom) {
+            return null;
+        }
+        return entryAt(chunk, i);
+    }
+
+    private LogEntry entryAt(Chunk chunk, int i) {
+        return new LogEntry(
+                endpoints.value(chunk.endpointIds[i]),
+                methods.value(chunk.methodIds[i]),
+                levels.value(chunk.levelIds[i]),
+                chunk.responseTimes[i],
+                threads.value(chunk.threadIds[i]),
+                messages.value(chunk.messageIds[i]),
+                Instant.ofEpochMilli(chunk.timestamps[i]).toString(),
+                chunk.statuses[i],
+                errorMessages.value(chunk.errorMessageIds[i])
+        );
+    }
+
+    // Busca desde la fila cursor hasta juntar limit resultados. Usa el índice de bloques para
+    // saltar rangos de tiempo y los bitmaps para descartar 64 filas a la vez; solo las filas
+    // candidatas se revisan contra las columnas. Devuelve el cursor siguiente o -1 si no hay más.
+    public int query(LogQuery query, int cursor, int limit, List<LogEntry> out) {
+        int size = this.size;
+        cursor = Math.max(cursor, firstRow);
+        long from = Math.max(query.getFrom() != null ? query.getFrom().toEpochMilli() : Long.MIN_VALUE, retainedFrom);
+        long to = query.getTo() != null ? query.getTo().toEpochMilli() : Long.MAX_VALUE;
+        int minStatus = query.getMinStatus() != null ? query.getMinStatus() : Integer.MIN_VALUE;
+        int maxStatus = query.getMaxStatus() != null ? query.getMaxStatus() : Integer.MAX_VALUE;
+        long minResponseTime = query.getMinResponseTimeMs() != null ? query.getMinResponseTimeMs() : Long.MIN_VALUE;
+
+        List<RowBitmap> required = new ArrayList<>(3);
+        if (query.getEndpoint() != null) {
+            required.add(index.endpoint(endpoints.lookup(query.getEndpoint())));
+        }
+        if (query.getMethod() != null) {
+            required.add(index.method(methods.lookup(query.getMethod())));
+        }
+        if (query.getLevel() != null) {
+            required.add(index.level(levels.lookup(query.getLevel())));
+        }
+        List<RowBitmap> statusClasses = new ArrayList<>();
+        if (query.getMinStatus() != null || query.getMaxStatus() != null) {
+            int fromClass = LogIndex.classOf(Math.max(minStatus, 0));
+            int toClass = LogIndex.classOf(Math.min(maxStatus, 999));
+            for (int statusClass = fromClass; statusClass <= toClass; statusClass++) {
+                statusClasses.add(index.statusClass(statusClass));
+            }
+        }
+
+        for (int block = Math.max(cursor, 0) >>> LogIndex.BLOCK_BITS; block < LogIndex.blockCount(size); block++) {
+            if (!index.blockOverlaps(block, from, to)) {
+                continue;
+            }
+            int firstWord = block * LogIndex.WORDS_PER_BLOCK;
+            for (int word = firstWord; word < firstWord + LogIndex.WORDS_PER_BLOCK; word++) {
+                int base = word << 6;
+                if (base >= size) {
+                    break;
+                }
+                long bits = -1L;
+                if (base + 64 > size) {
+                    bits &= (1L << (size - base)) - 1;
+                }
+                if (base < cursor) {
+                    bits &= cursor - base >= 64 ? 0 : -1L << (cursor - base);
+                }
+                for (RowBitmap bitmap : required) {
+                    bits &= bitmap.word(word);
+                }
+                if (!statusClasses.isEmpty()) {
+                    long anyStatus = 0;
+                    for (RowBitmap bitmap : statusClasses) {
+                        anyStatus |= bitmap.word(word);
+                    }
+                    bits &= anyStatus;
+                }
+
+                while (bits != 0) {
+                    int row = base + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    Chunk chunk = chunks[row >>> CHUNK_BITS];
+                    // Recortado por retención mientras se recorría
+                    if (chunk == null) {
+                        continue;
+                    }
+                    int i = row & CHUNK_MASK;
+                    long timestamp = chunk.timestamps[i];
+                    int status = chunk.statuses[i];
+                    if (timestamp < from || timestamp > to || status < minStatus || status > maxStatus
+                            || chunk.responseTimes[i] < minResponseTime) {
+                        continue;
+                    }
+                    if (out.size() == limit) {
+                        return row;
+                    }
+                    out.add(entryAt(chunk, i));
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Las filas [firstRow, size), columna por columna y chunk por chunk, para los snapshots: las
+    // descartadas por retención no se escriben. Las filas ya publicadas no cambian, así que se puede
+    // escribir mientras se siguen agregando otras
+    public void writeTo(DataOutput out, int size) throws IOException {
+        // firstRow, retainedFrom y los chunks se copian juntos con el monitor de trimBefore, y el I/O
+        // va afuera: trimBefore solo suelta referencias de chunks, nunca cambia uno publicado
+        int first;
+        long cutoff;
+        Chunk[] retained;
+        synchronized (this) {
+            first = Math.min(firstRow, size);
+            cutoff = retainedFrom;
+            retained = Arrays.copyOf(chunks, chunkCount(size));
+        }
+        out.writeInt(size);
+        out.writeInt(first);
+        out.writeLong(cutoff);
+        for (StringDictionary dictionary : dictionaries()) {
+            dictionary.writeTo(out);
+        }
+        for (int chunkIndex = first >>> CHUNK_BITS; chunkIndex < retained.length; chunkIndex++) {
+            Chunk chunk = retained[chunkIndex];
+            int start = Math.max(first - (chunkIndex << CHUNK_BITS), 0);
+            int length = chunkLength(chunkIndex, size) - start;
+            SnapshotIO.writeLongs(out, chunk.timestamps, start, length);
+            SnapshotIO.writeLongs(out, chunk.responseTimes, start, length);
+            SnapshotIO.writeShorts(out, chunk.statuses, start, length);
+            SnapshotIO.writeInts(out, chunk.endpointIds, start, length);
+            SnapshotIO.writeInts(out, chunk.methodIds, start, length);
+            SnapshotIO.writeInts(out, chunk.levelIds, start, length);
+            SnapshotIO.writeInts(out, chunk.threadIds, start, length);
+            SnapshotIO.writeInts(out, chunk.messageIds, start, length);
+            SnapshotIO.writeInts(out, chunk.errorMessageIds, start, length);
+        }
+    }
+
+    // Reconstruye un store escrito con writeTo. La marca de evento crítico no se guarda: se vuelve
+    // a calcular con el clasificador actual (una vez por mensaje distinto) por si cambió la configuración
+    public static ColumnarLogStore readFrom(DataInput in, CriticalEventClassifier classifier) throws IOException {
+        ColumnarLogStore store = new ColumnarLogStore();
+        int size = in.readInt();
+        int first = in.readInt();
+        long retainedFrom = in.readLong();
+        if (first < 0 || first > size) {
+            throw new IOException("Invalid first row " + first + " for " + size + " rows");
+        }
+        for (StringDictionary dictionary : store.dictionaries()) {
+            dictionary.readValues(in);
+        }
+        boolean[] criticalMessage = new boolean[store.messages.size()];
+        for (int id = 0; id < criticalMessage.length; id++) {
+            criticalMessage[id] = classifier.matches(store.messages.value(id));
+        }
+
+        Chunk[] chunks = new Chunk[Math.max(8, chunkCount(size))];
+        for (int chunkIndex = first >>> CHUNK_BITS; chunkIndex < chunkCount(size); chunkIndex++) {
+            Chunk chunk = new Chunk();
+            int start = Math.max(first - (chunkIndex << CHUNK_BITS), 0);
+            int length = chunkLength(chunkIndex, size);
+            SnapshotIO.readLongs(in, chunk.timestamps, start, length - start);
+            SnapshotIO.readLongs(in, chunk.responseTimes, start, length - start);
+            SnapshotIO.readShorts(in, chunk.statuses, start, length - start);
+            SnapshotIO.readInts(in, chunk.endpointIds, start, length - start);
+            SnapshotIO.readInts(in, chunk.methodIds, start, length - start);
+            SnapshotIO.readInts(in, chunk.levelIds, start, length - start);
+            SnapshotIO.readInts(in, chunk.threadIds, start, length - start);
+            SnapshotIO.readInts(in, chunk.messageIds, start, length - start);
+            SnapshotIO.readInts(in, chunk.errorMessageIds, start, length - start);
+            int firstRow = chunkIndex << CHUNK_BITS;
+            for (int i = start; i < length; i++) {
+                int messageId = chunk.messageIds[i];
+                chunk.critical[i] = classifier.isCritical(chunk.statuses[i], null)
+                        || (messageId >= 0 && criticalMessage[messageId]);
+                store.index.add(firstRow + i, chunk.timestamps[i], chunk.endpointIds[i], chunk.methodIds[i],
+                        chunk.levelIds[i], chunk.statuses[i]);
+            }
+            chunks[chunkIndex] = chunk;
+        }
+        store.chunks = chunks;
+        store.firstRow = first;
+        store.retainedFrom = retainedFrom;
+        store.size = size;
+        return store;
+    }
+
+    private List<StringDictionary> dictionaries() {
+        return List.of(endpoints, methods, levels, threads, messages, errorMessages);
+    }
+
+    // Sin las filas descartadas por retención
+    public List<LogEntry> entries(int fromRow, int toRow) {
+        List<LogEntry> result = new ArrayList<>(Math.max(0, toRow - fromRow));
+        for (int row = Math.max(fromRow, firstRow); row < toRow; row++) {
+            LogEntry entry = entryAt(row);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public LogIndex index() {
+        return index;
+    }
+
+    public StringDictionary endpoints() {
+        return endpoints;
+    }
+
+    public StringDictionary methods() {
+        return methods;
+    }
+
+    public StringDictionary levels() {
+        return levels;
+    }
+
+    public StringDictionary threads() {
+        return threads;
+    }
+
+    public StringDictionary messages() {
+        return messages;
+    }
+
+    public StringDictionary errorMessages() {
+        return errorMessages;
+    }
+}
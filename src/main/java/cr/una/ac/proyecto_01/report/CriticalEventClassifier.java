@@ -0,0 +1,123 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+// Decide si una entrada es un evento crítico: status >= minStatus o un mensaje que contiene
+// alguno de los patrones (sin distinguir mayúsculas). Los patrones se compilan a un autómata
+// Aho-Corasick, así un mensaje se recorre una sola vez sin importar cuántos patrones haya y
+// sin crear copias en minúsculas: clasificar no reserva memoria.
+public class CriticalEventClassifier {
+
+    private final int minStatus;
+    // Caracteres de los patrones (en minúscula) ordenados; su posición + 1 es la columna del autómata
+    private final char[] alphabet;
+    private final int[][] transitions;
+    private final boolean[] accepting;
+
+    public CriticalEventClassifier(List<String> patterns, int minStatus) {
+        this.minStatus = minStatus;
+
+        List<String> normalized = new ArrayList<>();
+        for (String pattern : patterns) {
+            String trimmed = pattern.trim();
+            if (!trimmed.isEmpty()) {
+                normalized.add(lowerCase(trimmed));
+            }
+        }
+        this.alphabet = alphabetOf(normalized);
+
+        // Trie de los patrones
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        trie.add(new int[alphabet.length + 1]);
+        ends.add(false);
+        for (String pattern : normalized) {
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbolOf(pattern.charAt(i));
+                if (trie.get(state)[symbol] == 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(new int[alphabet.length + 1]);
+                    ends.add(false);
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.set(state, true);
+        }
+
+        // Enlaces de falla por niveles; al final cada estado tiene transición para todo símbolo
+        int[][] table = trie.toArray(new int[0][]);
+        boolean[] output = new boolean[table.length];
+        for (int state = 0; state < output.length; state++) {
+            output[state] = ends.get(state);
+        }
+        int[] failure = new int[table.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 1; symbol <= alphabet.length; symbol++) {
+            if (table[0][symbol] != 0) {
+                queue.add(table[0][symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] |= output[failure[state]];
+            for (int symbol = 1; symbol <= alphabet.length; symbol++) {
+                int next = table[state][symbol];
+                if (next != 0) {
+                    failure[next] = table[failure[state]][symbol];
+                    queue.add(next);
+                } else {
+                    table[state][symbol] = table[failure[state]][symbol];
+                }
+            }
+        }
+        this.transitions = table;
+        this.accepting = output;
+    }
+
+    public boolean isCritical(int status, String message) {
+        return status >= minStatus || matches(message);
+    }
+
+    // true si el mensaje contiene alguno de los patrones
+    public boolean matches(String message) {
+        if (message == null || alphabet.length == 0) {
+            return false;
+        }
+        int state = 0;
+        for (int i = 0; i < message.length(); i++) {
+            state = transitions[state][symbolOf(Character.toLowerCase(message.charAt(i)))];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 0 para los caracteres que no aparecen en ningún patrón (vuelven al estado inicial)
+    private int symbolOf(char c) {
+        int index = Arrays.binarySearch(alphabet, c);
+        return index >= 0 ? index + 1 : 0;
+    }
+
+    private static char[] alphabetOf(List<String> patterns) {
+        StringBuilder chars = new StringBuilder();
+        for (String pattern : patterns) {
+            chars.append(pattern);
+        }
+        return chars.chars().distinct().sorted().collect(StringBuilder::new, StringBuilder::appendCodePoint,
+                StringBuilder::append).toString().toCharArray();
+    }
+
+    private static String lowerCase(String pattern) {
+        StringBuilder lower = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            lower.append(Character.toLowerCase(pattern.charAt(i)));
+        }
+        return lower.toString();
+    }
+}
@@ -0,0 +1,206 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Histograma log-lineal (estilo HDR) para tiempos de respuesta en milisegundos.
+// Los valores menores a 128 se guardan exactos; los mayores se agrupan en 64 sub-buckets
+// por potencia de dos (error relativo < 1.6%). Registrar es O(1), consultar un percentil
+// recorre a lo sumo unos pocos miles de buckets y dos histogramas se pueden sumar (merge).
+public class LatencyHistogram {
+
+    public static final double[] REPORTED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;         // 128
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;        // 64
+    private static final int MAX_INDEX = bucketIndex(Long.MAX_VALUE);
+
+    // Crece a medida que aparecen valores más grandes
+    private long[] counts = new long[SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(value, 0);
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int mantissa = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (mantissa - SUB_BUCKET_HALF);
+    }
+
+    // Valor más alto que cae en el bucket
+    public static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long mantissa = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        long next = (mantissa + 1) << shift;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+
+    public static int bucketCount() {
+        return MAX_INDEX + 1;
+    }
+
+    public synchronized void record(long value) {
+        record(value, 1);
+    }
+
+    public synchronized void record(long value, long count) {
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.min(Math.max(index + 1, counts.length * 2), MAX_INDEX + 1));
+        }
+        counts[index] += count;
+        totalCount += count;
+        sum += value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Suma otro histograma a este (por ejemplo, ventanas de tiempo o particiones)
+    public void merge(LatencyHistogram other) {
+        long[] otherCounts;
+        long otherTotal;
+        long otherSum;
+        long otherMin;
+        long otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherTotal = other.totalCount;
+            otherSum = other.sum;
+            otherMin = other.min;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            if (otherCounts.length > counts.length) {
+                counts = Arrays.copyOf(counts, otherCounts.length);
+            }
+            for (int i = 0; i < otherCounts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            totalCount += otherTotal;
+            sum += otherSum;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    public synchronized LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.counts = counts.clone();
+        copy.totalCount = totalCount;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    // Corrección de omisión coordinada (como HdrHistogram): si un cliente espera cada respuesta antes
+    // de mandar el siguiente pedido, una respuesta de valor v tapa los pedidos que habrían salido cada
+    // expectedInterval mientras tanto. Se agregan esas muestras que faltan (v - interval, v - 2*interval, ...)
+    public synchronized LatencyHistogram copyCorrectedForCoordinatedOmission(long expectedInterval) {
+        LatencyHistogram corrected = copy();
+        if (expectedInterval <= 0) {
+            return corrected;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            long value = Math.min(highestValueInBucket(i), max);
+            for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+                corrected.record(missing, counts[i]);
+            }
+        }
+        return corrected;
+    }
+
+    // Solo hasta el último bucket con muestras. Se escribe una copia, así el I/O no queda dentro del monitor
+    public void writeTo(DataOutput out) throws IOException {
+        LatencyHistogram copy = copy();
+        int length = copy.counts.length;
+        while (length > 0 && copy.counts[length - 1] == 0) {
+            length--;
+        }
+        out.writeInt(length);
+        SnapshotIO.writeLongs(out, copy.counts, length);
+        out.writeLong(copy.totalCount);
+        out.writeLong(copy.sum);
+        out.writeLong(copy.min);
+        out.writeLong(copy.max);
+    }
+
+    public static LatencyHistogram readFrom(DataInput in) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_INDEX + 1) {
+            throw new IOException("Invalid histogram length " + length);
+        }
+        histogram.counts = new long[Math.max(length, SUB_BUCKET_COUNT)];
+        SnapshotIO.readLongs(in, histogram.counts, length);
+        histogram.totalCount = in.readLong();
+        histogram.sum = in.readLong();
+        histogram.min = in.readLong();
+        histogram.max = in.readLong();
+        return histogram;
+    }
+
+    // Valor v tal que al menos el percentil p de las muestras es <= v
+    public synchronized long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    // p50, p90, p95, p99 y p999 listos para un reporte
+    public synchronized Map<String, Long> percentiles() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (double percentile : REPORTED_PERCENTILES) {
+            result.put(percentileName(percentile), valueAtPercentile(percentile));
+        }
+        return result;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    private static String percentileName(double percentile) {
+        return percentile == 99.9 ? "p999" : "p" + (int) percentile;
+    }
+}
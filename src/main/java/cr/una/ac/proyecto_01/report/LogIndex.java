@@ -0,0 +1,113 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Índices de ColumnarLogStore: mínimo y máximo de timestamp por bloque de 1024 filas
+// (para saltar bloques fuera de un rango de tiempo) y bitmaps de filas por endpoint,
+// método, nivel y clase de status (2xx, 4xx, 5xx...).
+public class LogIndex {
+
+    public static final int BLOCK_BITS = 10;
+    public static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    public static final int WORDS_PER_BLOCK = BLOCK_SIZE / Long.SIZE;
+
+    private volatile long[] blockMin = new long[64];
+    private volatile long[] blockMax = new long[64];
+
+    private final Postings endpoints = new Postings();
+    private final Postings methods = new Postings();
+    private final Postings levels = new Postings();
+    private final Postings statusClasses = new Postings();
+
+    // Lo llama el store al agregar una fila, antes de publicar el nuevo size
+    void add(int row, long timestamp, int endpointId, int methodId, int levelId, int status) {
+        int block = row >>> BLOCK_BITS;
+        if (block >= blockMin.length) {
+            blockMin = Arrays.copyOf(blockMin, blockMin.length * 2);
+            blockMax = Arrays.copyOf(blockMax, blockMax.length * 2);
+        }
+        if ((row & (BLOCK_SIZE - 1)) == 0) {
+            blockMin[block] = timestamp;
+            blockMax[block] = timestamp;
+        } else {
+            blockMin[block] = Math.min(blockMin[block], timestamp);
+            blockMax[block] = Math.max(blockMax[block], timestamp);
+        }
+        endpoints.add(endpointId, row);
+        methods.add(methodId, row);
+        levels.add(levelId, row);
+        statusClasses.add(classOf(status), row);
+    }
+
+    // Lo llama el store al descartar las filas anteriores a row
+    void clearBefore(int row) {
+        for (Postings postings : List.of(endpoints, methods, levels, statusClasses)) {
+            postings.clearBefore(row);
+        }
+    }
+
+    public static int classOf(int status) {
+        return Math.max(0, Math.min(9, status / 100));
+    }
+
+    public static int blockCount(int size) {
+        return (size + BLOCK_SIZE - 1) >>> BLOCK_BITS;
+    }
+
+    // true si el bloque puede tener filas dentro de [from, to]
+    public boolean blockOverlaps(int block, long from, long to) {
+        return blockMin[block] <= to && blockMax[block] >= from;
+    }
+
+    public RowBitmap endpoint(int id) {
+        return endpoints.get(id);
+    }
+
+    public RowBitmap method(int id) {
+        return methods.get(id);
+    }
+
+    public RowBitmap level(int id) {
+        return levels.get(id);
+    }
+
+    public RowBitmap statusClass(int statusClass) {
+        return statusClasses.get(statusClass);
+    }
+
+    // Un bitmap por id de diccionario; los ids nulos (-1) no se indexan
+    private static class Postings {
+        private static final RowBitmap EMPTY = new RowBitmap();
+
+        private volatile RowBitmap[] byId = new RowBitmap[8];
+
+        void add(int id, int row) {
+            if (id < 0) {
+                return;
+            }
+            RowBitmap[] current = byId;
+            if (id >= current.length) {
+                current = Arrays.copyOf(current, Math.max(id + 1, current.length * 2));
+            }
+            if (current[id] == null) {
+                current[id] = new RowBitmap();
+            }
+            byId = current;
+            current[id].set(row);
+        }
+
+        void clearBefore(int row) {
+            for (RowBitmap bitmap : byId) {
+                if (bitmap != null) {
+                    bitmap.clearBefore(row);
+                }
+            }
+        }
+
+        RowBitmap get(int id) {
+            RowBitmap[] current = byId;
+            return id >= 0 && id < current.length && current[id] != null ? current[id] : EMPTY;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package cr.una.ac.proyecto_01.report;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+// Acumulados por ventana de tiempo (minuto, hora y día, alineados a UTC). Cada bucket es un
+// ReportAggregates completo (conteos, errores, sumas e histogramas por endpoint), así que un
+// reporte de un rango solo suma los buckets que lo cubren en lugar de recorrer los logs.
+public class LogRollups {
+
+    public enum Granularity {
+        MINUTE(TimeUnit.MINUTES.toMillis(1)),
+        HOUR(TimeUnit.HOURS.toMillis(1)),
+        DAY(TimeUnit.DAYS.toMillis(1));
+
+        private final long millis;
+
+        Granularity(long millis) {
+            this.millis = millis;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public long bucketStart(long epochMillis) {
+            return Math.floorDiv(epochMillis, millis) * millis;
+        }
+
+        // Inicio del primer bucket que empieza en epochMillis o después
+        public long nextBucketStart(long epochMillis) {
+            long start = bucketStart(epochMillis);
+            return start == epochMillis ? start : start + millis;
+        }
+    }
+
+    private final Map<Granularity, ConcurrentSkipListMap<Long, ReportAggregates>> buckets = Map.of(
+            Granularity.MINUTE, new ConcurrentSkipListMap<>(),
+            Granularity.HOUR, new ConcurrentSkipListMap<>(),
+            Granularity.DAY, new ConcurrentSkipListMap<>());
+
+    private final long minuteRetentionMillis;
+    private final long hourRetentionMillis;
+
+    public LogRollups(long minuteRetentionMillis, long hourRetentionMillis) {
+        this.minuteRetentionMillis = minuteRetentionMillis;
+        this.hourRetentionMillis = hourRetentionMillis;
+    }
+
+    public void record(LogEntry entry, long epochMillis) {
+        for (Granularity granularity : Granularity.values()) {
+            buckets.get(granularity)
+                    .computeIfAbsent(granularity.bucketStart(epochMillis), key -> new ReportAggregates())
+                    .record(entry, epochMillis);
+        }
+    }
+
+    // Los minutos viejos ya están sumados en su hora (y las horas en su día), así que compactar
+    // es descartar el detalle fino pasado el tiempo de retención
+    public void compact(long nowMillis) {
+        buckets.get(Granularity.MINUTE).headMap(nowMillis - minuteRetentionMillis).clear();
+        buckets.get(Granularity.HOUR).headMap(nowMillis - hourRetentionMillis).clear();
+    }
+
+    // Granularidad más fina que todavía tiene datos desde "from" y no genera demasiados buckets
+    public Granularity chooseGranularity(long from, long to, long nowMillis) {
+        long span = to - from;
+        if (from >= nowMillis - minuteRetentionMillis && span <= TimeUnit.HOURS.toMillis(6)) {
+            return Granularity.MINUTE;
+        }
+        if (from >= nowMillis - hourRetentionMillis && span <= TimeUnit.DAYS.toMillis(31)) {
+            return Granularity.HOUR;
+        }
+        return Granularity.DAY;
+    }
+
+    // La granularidad pedida o, si desde "from" ya se compactó, la siguiente más gruesa que todavía
+    // tiene esos datos (los minutos viejos siguen sumados en su hora y las horas en su día)
+    public Granularity availableGranularity(Granularity requested, long from, long nowMillis) {
+        Granularity granularity = requested;
+        if (granularity == Granularity.MINUTE && from < nowMillis - minuteRetentionMillis) {
+            granularity = Granularity.HOUR;
+        }
+        if (granularity == Granularity.HOUR && from < nowMillis - hourRetentionMillis) {
+            granularity = Granularity.DAY;
+        }
+        return granularity;
+    }
+
+    // Suma los buckets que caen enteros dentro de [from, to]; los pedazos de bucket de los bordes
+    // quedan afuera (LogService los recalcula de las filas)
+    public ReportAggregates aggregate(long from, long to, Granularity granularity) {
+        ReportAggregates result = new ReportAggregates();
+        range(from, to, granularity).values().forEach(result::merge);
+        return result;
+    }
+
+    // Errores y requests por bucket entero dentro de [from, to], para ver la evolución en el tiempo
+    public Map<String, Map<String, Long>> timeline(long from, long to, Granularity granularity) {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        range(from, to, granularity).forEach((start, bucket) -> result.put(Instant.ofEpochMilli(start).toString(),
+                Map.of("requests", bucket.getTotalRequests(), "errors", bucket.getTotalErrors())));
+        return result;
+    }
+
+    // Todos los buckets de cada granularidad, para los snapshots
+    public void writeTo(DataOutput out) throws IOException {
+        for (Granularity granularity : Granularity.values()) {
+            Map<Long, ReportAggregates> current = new TreeMap<>(buckets.get(granularity));
+            out.writeInt(current.size());
+            for (Map.Entry<Long, ReportAggregates> bucket : current.entrySet()) {
+                out.writeLong(bucket.getKey());
+                bucket.getValue().writeTo(out);
+            }
+        }
+    }
+
+    public static LogRollups readFrom(DataInput in, long minuteRetentionMillis, long hourRetentionMillis) throws IOException {
+        LogRollups rollups = new LogRollups(minuteRetentionMillis, hourRetentionMillis);
+        for (Granularity granularity : Granularity.values()) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long start = in.readLong();
+                rollups.buckets.get(granularity).put(start, ReportAggregates.readFrom(in));
+            }
+        }
+        return rollups;
+    }
+
+    public int bucketCount(Granularity granularity) {
+        return buckets.get(granularity).size();
+    }
+
+    private NavigableMap<Long, ReportAggregates> range(long from, long to, Granularity granularity) {
+        long start = from == Long.MIN_VALUE ? from : granularity.nextBucketStart(from);
+        long end = to == Long.MAX_VALUE ? to : granularity.bucketStart(to + 1) - 1;
+        if (start > end) {
+            return Collections.emptyNavigableMap();
+        }
+        return buckets.get(granularity).subMap(start, true, end, true);
+    }
+}
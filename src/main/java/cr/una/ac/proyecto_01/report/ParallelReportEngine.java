@@ -0,0 +1,197 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+// Recalcula reportes en paralelo sobre ColumnarLogStore. Las filas se dividen por bloques del
+// índice (1024 filas); cada tarea hoja calcula un parcial de sus bloques y los parciales se juntan
+// al volver (ReportAggregates.merge suma conteos, sumas e histogramas). Corre en un ForkJoinPool
+// propio, así un recálculo grande no ocupa el common pool del resto de la aplicación.
+public class ParallelReportEngine implements AutoCloseable {
+
+    // Bloques por tarea hoja (16K filas): suficiente trabajo para que dividir valga la pena
+    private static final int LEAF_BLOCKS = 16;
+
+    private final ForkJoinPool pool;
+
+    // parallelism <= 0 usa un hilo por procesador
+    public ParallelReportEngine(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("report-worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    // Condición de una fila, evaluada directo sobre las columnas del chunk
+    @FunctionalInterface
+    public interface RowFilter {
+        boolean matches(ColumnarLogStore.Chunk chunk, int index);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Acumulados de las filas con timestamp en [from, to]. Las filas descartadas por retención no cuentan
+    public ReportAggregates aggregate(ColumnarLogStore store, long from, long to) {
+        int size = store.size();
+        return pool.invoke(new AggregateTask(store, size, Math.max(from, store.retainedFrom()), to,
+                store.firstRow() >>> LogIndex.BLOCK_BITS, LogIndex.blockCount(size)));
+    }
+
+    // Números de fila (en orden) con timestamp en [from, to] que cumplen el filtro
+    public int[] matchingRows(ColumnarLogStore store, long from, long to, RowFilter filter) {
+        int size = store.size();
+        return pool.invoke(new MatchTask(store, size, Math.max(from, store.retainedFrom()), to, filter,
+                store.firstRow() >>> LogIndex.BLOCK_BITS, LogIndex.blockCount(size))).toArray();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static final class AggregateTask extends RecursiveTask<ReportAggregates> {
+        private final ColumnarLogStore store;
+        private final int size;
+        private final long from;
+        private final long to;
+        private final int firstBlock;
+        private final int endBlock;
+
+        private AggregateTask(ColumnarLogStore store, int size, long from, long to, int firstBlock, int endBlock) {
+            this.store = store;
+            this.size = size;
+            this.from = from;
+            this.to = to;
+            this.firstBlock = firstBlock;
+            this.endBlock = endBlock;
+        }
+
+        @Override
+        protected ReportAggregates compute() {
+            if (endBlock - firstBlock > LEAF_BLOCKS) {
+                int middle = (firstBlock + endBlock) >>> 1;
+                AggregateTask left = new AggregateTask(store, size, from, to, firstBlock, middle);
+                left.fork();
+                ReportAggregates result = new AggregateTask(store, size, from, to, middle, endBlock).compute();
+                result.merge(left.join());
+                return result;
+            }
+
+            ReportAggregates partial = new ReportAggregates();
+            StringDictionary endpoints = store.endpoints();
+            StringDictionary methods = store.methods();
+            StringDictionary errorMessages = store.errorMessages();
+            for (int block = firstBlock; block < endBlock; block++) {
+                if (!store.index().blockOverlaps(block, from, to)) {
+                    continue;
+                }
+                int firstRow = block << LogIndex.BLOCK_BITS;
+                int endRow = Math.min(firstRow + LogIndex.BLOCK_SIZE, size);
+                ColumnarLogStore.Chunk chunk = store.chunk(firstRow >>> ColumnarLogStore.CHUNK_BITS);
+                // Recortado por retención mientras se recorría
+                if (chunk == null) {
+                    continue;
+                }
+                for (int row = firstRow; row < endRow; row++) {
+                    int i = row & (ColumnarLogStore.CHUNK_SIZE - 1);
+                    long timestamp = chunk.timestamps[i];
+                    if (timestamp < from || timestamp > to) {
+                        continue;
+                    }
+                    partial.record(endpoints.value(chunk.endpointIds[i]), methods.value(chunk.methodIds[i]),
+                            chunk.responseTimes[i], chunk.statuses[i], errorMessages.value(chunk.errorMessageIds[i]),
+                            timestamp);
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static final class MatchTask extends RecursiveTask<Rows> {
+        private final ColumnarLogStore store;
+        private final int size;
+        private final long from;
+        private final long to;
+        private final RowFilter filter;
+        private final int firstBlock;
+        private final int endBlock;
+
+        private MatchTask(ColumnarLogStore store, int size, long from, long to, RowFilter filter, int firstBlock, int endBlock) {
+            this.store = store;
+            this.size = size;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.firstBlock = firstBlock;
+            this.endBlock = endBlock;
+        }
+
+        @Override
+        protected Rows compute() {
+            if (endBlock - firstBlock > LEAF_BLOCKS) {
+                int middle = (firstBlock + endBlock) >>> 1;
+                MatchTask left = new MatchTask(store, size, from, to, filter, firstBlock, middle);
+                left.fork();
+                Rows right = new MatchTask(store, size, from, to, filter, middle, endBlock).compute();
+                return left.join().append(right);
+            }
+
+            Rows rows = new Rows();
+            for (int block = firstBlock; block < endBlock; block++) {
+                if (!store.index().blockOverlaps(block, from, to)) {
+                    continue;
+                }
+                int firstRow = block << LogIndex.BLOCK_BITS;
+                int endRow = Math.min(firstRow + LogIndex.BLOCK_SIZE, size);
+                ColumnarLogStore.Chunk chunk = store.chunk(firstRow >>> ColumnarLogStore.CHUNK_BITS);
+                // Recortado por retención mientras se recorría
+                if (chunk == null) {
+                    continue;
+                }
+                for (int row = firstRow; row < endRow; row++) {
+                    int i = row & (ColumnarLogStore.CHUNK_SIZE - 1);
+                    long timestamp = chunk.timestamps[i];
+                    if (timestamp >= from && timestamp <= to && filter.matches(chunk, i)) {
+                        rows.add(row);
+                    }
+                }
+            }
+            return rows;
+        }
+    }
+
+    // Lista creciente de números de fila, sin boxing
+    private static final class Rows {
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int row) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = row;
+        }
+
+        private Rows append(Rows other) {
+            if (other.size == 0) {
+                return this;
+            }
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
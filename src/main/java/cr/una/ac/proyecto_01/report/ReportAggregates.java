@@ -0,0 +1,243 @@
+package cr.una.ac.proyecto_01.report;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Acumuladores de los reportes de logs. Cada entrada ingerida se suma en O(1)
+// y los reportes se arman leyendo estos contadores, sin recorrer los logs.
+public class ReportAggregates {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final String UNKNOWN_ERROR = "Unknown error";
+
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder totalErrors = new LongAdder();
+    private final LongAdder responseTimeSum = new LongAdder();
+
+    private final Map<String, LongAdder> errorsByMessage = new ConcurrentHashMap<>();
+    private final LongAdder[] errorsByHour = new LongAdder[24];
+    private final Map<Integer, LongAdder> requestsByStatus = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+    public ReportAggregates() {
+        for (int hour = 0; hour < errorsByHour.length; hour++) {
+            errorsByHour[hour] = new LongAdder();
+        }
+    }
+
+    // Suma una entrada a todos los acumuladores
+    public void record(LogEntry entry, long epochMillis) {
+        record(entry.getEndpoint(), entry.getMethod(), entry.getResponseTimeMs(), entry.getStatus(),
+                entry.getErrorMessage(), epochMillis);
+    }
+
+    // Lo mismo con los valores sueltos, para sumar filas de ColumnarLogStore sin armar un LogEntry
+    public void record(String endpoint, String method, long responseTime, int status, String errorMessage, long epochMillis) {
+        totalRequests.increment();
+        responseTimeSum.add(responseTime);
+        requestsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+        responseTimes.record(responseTime);
+
+        if (status >= 400) {
+            totalErrors.increment();
+            String message = errorMessage != null ? errorMessage : UNKNOWN_ERROR;
+            errorsByMessage.computeIfAbsent(message, key -> new LongAdder()).increment();
+            errorsByHour[(int) Math.floorMod(epochMillis / MILLIS_PER_HOUR, 24L)].increment();
+        }
+
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.count.increment();
+        stats.responseTimeSum.add(responseTime);
+        stats.byMethod.computeIfAbsent(method, key -> new LongAdder()).increment();
+        stats.responseTimes.record(responseTime);
+    }
+
+    // Suma los contadores de otro acumulado a este (por ejemplo, buckets de tiempo)
+    public void merge(ReportAggregates other) {
+        totalRequests.add(other.totalRequests.sum());
+        totalErrors.add(other.totalErrors.sum());
+        responseTimeSum.add(other.responseTimeSum.sum());
+        responseTimes.merge(other.responseTimes);
+        other.errorsByMessage.forEach((message, count) ->
+                errorsByMessage.computeIfAbsent(message, key -> new LongAdder()).add(count.sum()));
+        for (int hour = 0; hour < errorsByHour.length; hour++) {
+            errorsByHour[hour].add(other.errorsByHour[hour].sum());
+        }
+        other.requestsByStatus.forEach((status, count) ->
+                requestsByStatus.computeIfAbsent(status, key -> new LongAdder()).add(count.sum()));
+        other.endpoints.forEach((endpoint, otherStats) -> {
+            EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+            stats.count.add(otherStats.count.sum());
+            stats.responseTimeSum.add(otherStats.responseTimeSum.sum());
+            stats.responseTimes.merge(otherStats.responseTimes);
+            otherStats.byMethod.forEach((method, count) ->
+                    stats.byMethod.computeIfAbsent(method, key -> new LongAdder()).add(count.sum()));
+        });
+    }
+
+    // Todos los contadores e histogramas, para los snapshots. Quien escribe debe asegurarse de que
+    // no se estén sumando entradas al mismo tiempo
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(totalRequests.sum());
+        out.writeLong(totalErrors.sum());
+        out.writeLong(responseTimeSum.sum());
+        responseTimes.writeTo(out);
+        writeCounts(out, errorsByMessage);
+        for (LongAdder count : errorsByHour) {
+            out.writeLong(count.sum());
+        }
+        out.writeInt(requestsByStatus.size());
+        for (Map.Entry<Integer, LongAdder> status : requestsByStatus.entrySet()) {
+            out.writeInt(status.getKey());
+            out.writeLong(status.getValue().sum());
+        }
+        out.writeInt(endpoints.size());
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            EndpointStats stats = endpoint.getValue();
+            SnapshotIO.writeString(out, endpoint.getKey());
+            out.writeLong(stats.count.sum());
+            out.writeLong(stats.responseTimeSum.sum());
+            writeCounts(out, stats.byMethod);
+            stats.responseTimes.writeTo(out);
+        }
+    }
+
+    public static ReportAggregates readFrom(DataInput in) throws IOException {
+        ReportAggregates aggregates = new ReportAggregates();
+        aggregates.totalRequests.add(in.readLong());
+        aggregates.totalErrors.add(in.readLong());
+        aggregates.responseTimeSum.add(in.readLong());
+        aggregates.responseTimes.merge(LatencyHistogram.readFrom(in));
+        readCounts(in, aggregates.errorsByMessage);
+        for (LongAdder count : aggregates.errorsByHour) {
+            count.add(in.readLong());
+        }
+        int statuses = in.readInt();
+        for (int i = 0; i < statuses; i++) {
+            aggregates.requestsByStatus.computeIfAbsent(in.readInt(), key -> new LongAdder()).add(in.readLong());
+        }
+        int endpoints = in.readInt();
+        for (int i = 0; i < endpoints; i++) {
+            EndpointStats stats = aggregates.endpoints.computeIfAbsent(SnapshotIO.readString(in), key -> new EndpointStats());
+            stats.count.add(in.readLong());
+            stats.responseTimeSum.add(in.readLong());
+            readCounts(in, stats.byMethod);
+            stats.responseTimes.merge(LatencyHistogram.readFrom(in));
+        }
+        return aggregates;
+    }
+
+    private static void writeCounts(DataOutput out, Map<String, LongAdder> counts) throws IOException {
+        out.writeInt(counts.size());
+        for (Map.Entry<String, LongAdder> count : counts.entrySet()) {
+            SnapshotIO.writeString(out, count.getKey());
+            out.writeLong(count.getValue().sum());
+        }
+    }
+
+    private static void readCounts(DataInput in, Map<String, LongAdder> counts) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            counts.computeIfAbsent(SnapshotIO.readString(in), key -> new LongAdder()).add(in.readLong());
+        }
+    }
+
+    public long getTotalRequests() {
+        return totalRequests.sum();
+    }
+
+    public long getTotalErrors() {
+        return totalErrors.sum();
+    }
+
+    public long getMinResponseTime() {
+        return responseTimes.getMin();
+    }
+
+    public long getMaxResponseTime() {
+        return responseTimes.getMax();
+    }
+
+    public double getAverageResponseTime() {
+        long count = totalRequests.sum();
+        return count == 0 ? 0 : (double) responseTimeSum.sum() / count;
+    }
+
+    public Map<String, Long> getErrorsByMessage() {
+        Map<String, Long> result = new HashMap<>();
+        errorsByMessage.forEach((message, count) -> result.put(message, count.sum()));
+        return result;
+    }
+
+    // Solo las horas (UTC) que tienen errores, igual que el reporte original
+    public Map<Integer, Long> getErrorsByHour() {
+        Map<Integer, Long> result = new TreeMap<>();
+        for (int hour = 0; hour < errorsByHour.length; hour++) {
+            long count = errorsByHour[hour].sum();
+            if (count > 0) {
+                result.put(hour, count);
+            }
+        }
+        return result;
+    }
+
+    public Map<Integer, Long> getRequestsByStatus() {
+        Map<Integer, Long> result = new TreeMap<>();
+        requestsByStatus.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    public Map<String, Double> getAverageResponseTimeByEndpoint() {
+        Map<String, Double> result = new HashMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.average()));
+        return result;
+    }
+
+    // Copia del histograma global de tiempos de respuesta
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes.copy();
+    }
+
+    public Map<String, Map<String, Long>> getPercentilesByEndpoint() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.responseTimes.percentiles()));
+        return result;
+    }
+
+    public Map<String, Map<String, Long>> getUsageByEndpointAndMethod() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Map<String, Long> byMethod = new HashMap<>();
+            stats.byMethod.forEach((method, count) -> byMethod.put(method, count.sum()));
+            result.put(endpoint, byMethod);
+        });
+        return result;
+    }
+
+    public Map<String, Long> getRequestsByEndpoint() {
+        Map<String, Long> result = new HashMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.count.sum()));
+        return result;
+    }
+
+    private static class EndpointStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder responseTimeSum = new LongAdder();
+        private final Map<String, LongAdder> byMethod = new ConcurrentHashMap<>();
+        private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+        private double average() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) responseTimeSum.sum() / n;
+        }
+    }
+}
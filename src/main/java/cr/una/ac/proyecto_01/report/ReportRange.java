@@ -0,0 +1,31 @@
+package cr.una.ac.proyecto_01.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+// Rango de tiempo de un reporte; sin from ni to el reporte cubre toda la historia.
+// granularity null deja que LogRollups elija la más fina disponible; si la pedida ya se compactó
+// para el rango se usa la siguiente más gruesa. from y to se respetan exactos con cualquier granularidad.
+@Data
+@AllArgsConstructor
+public class ReportRange {
+    public static final ReportRange ALL = new ReportRange(null, null, null);
+
+    private Instant from;
+    private Instant to;
+    private LogRollups.Granularity granularity;
+
+    public boolean isAll() {
+        return from == null && to == null;
+    }
+
+    public long fromMillis() {
+        return from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    public long toMillis() {
+        return to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,49 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.util.Arrays;
+
+// Bitmap de filas (posting list) paginado igual que los chunks de ColumnarLogStore.
+// Un solo hilo escribe; los lectores solo miran filas menores al size publicado.
+public class RowBitmap {
+
+    public static final int WORDS_PER_PAGE = ColumnarLogStore.CHUNK_SIZE / Long.SIZE;
+    private static final int WORD_PAGE_BITS = ColumnarLogStore.CHUNK_BITS - 6;
+
+    private volatile long[][] pages = new long[4][];
+
+    public void set(int row) {
+        int page = row >>> ColumnarLogStore.CHUNK_BITS;
+        long[][] current = pages;
+        if (page >= current.length) {
+            current = Arrays.copyOf(current, Math.max(page + 1, current.length * 2));
+        }
+        if (current[page] == null) {
+            current[page] = new long[WORDS_PER_PAGE];
+        }
+        pages = current;
+        current[page][(row >>> 6) & (WORDS_PER_PAGE - 1)] |= 1L << row;
+    }
+
+    // Palabra de 64 bits que cubre las filas [wordIndex * 64, wordIndex * 64 + 63]
+    public long word(int wordIndex) {
+        long[][] current = pages;
+        int page = wordIndex >>> WORD_PAGE_BITS;
+        if (page >= current.length || current[page] == null) {
+            return 0;
+        }
+        return current[page][wordIndex & (WORDS_PER_PAGE - 1)];
+    }
+
+    // Suelta las páginas que solo tienen filas anteriores a row (las descartadas por retención)
+    void clearBefore(int row) {
+        long[][] current = pages;
+        int end = Math.min(row >>> ColumnarLogStore.CHUNK_BITS, current.length);
+        for (int page = 0; page < end; page++) {
+            current[page] = null;
+        }
+    }
+
+    public boolean get(int row) {
+        return (word(row >>> 6) & (1L << row)) != 0;
+    }
+}
@@ -0,0 +1,97 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Lectura y escritura binaria del estado de los reportes para los snapshots. Los strings van
+// como largo + UTF-8 (writeUTF no acepta más de 64 KB) y las columnas en bloque, no valor a valor.
+final class SnapshotIO {
+
+    private static final int NULL_LENGTH = -1;
+
+    private SnapshotIO() {
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeLongs(DataOutput out, long[] values, int length) throws IOException {
+        writeLongs(out, values, 0, length);
+    }
+
+    static void writeLongs(DataOutput out, long[] values, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Long.BYTES);
+        buffer.asLongBuffer().put(values, offset, length);
+        out.write(buffer.array());
+    }
+
+    static void readLongs(DataInput in, long[] values, int length) throws IOException {
+        readLongs(in, values, 0, length);
+    }
+
+    static void readLongs(DataInput in, long[] values, int offset, int length) throws IOException {
+        byte[] bytes = new byte[length * Long.BYTES];
+        in.readFully(bytes);
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values, offset, length);
+    }
+
+    static void writeInts(DataOutput out, int[] values, int length) throws IOException {
+        writeInts(out, values, 0, length);
+    }
+
+    static void writeInts(DataOutput out, int[] values, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES);
+        buffer.asIntBuffer().put(values, offset, length);
+        out.write(buffer.array());
+    }
+
+    static void readInts(DataInput in, int[] values, int length) throws IOException {
+        readInts(in, values, 0, length);
+    }
+
+    static void readInts(DataInput in, int[] values, int offset, int length) throws IOException {
+        byte[] bytes = new byte[length * Integer.BYTES];
+        in.readFully(bytes);
+        ByteBuffer.wrap(bytes).asIntBuffer().get(values, offset, length);
+    }
+
+    static void writeShorts(DataOutput out, short[] values, int length) throws IOException {
+        writeShorts(out, values, 0, length);
+    }
+
+    static void writeShorts(DataOutput out, short[] values, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Short.BYTES);
+        buffer.asShortBuffer().put(values, offset, length);
+        out.write(buffer.array());
+    }
+
+    static void readShorts(DataInput in, short[] values, int length) throws IOException {
+        readShorts(in, values, 0, length);
+    }
+
+    static void readShorts(DataInput in, short[] values, int offset, int length) throws IOException {
+        byte[] bytes = new byte[length * Short.BYTES];
+        in.readFully(bytes);
+        ByteBuffer.wrap(bytes).asShortBuffer().get(values, offset, length);
+    }
+}
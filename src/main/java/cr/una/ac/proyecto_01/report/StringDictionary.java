@@ -0,0 +1,71 @@
+package cr.una.ac.proyecto_01.report;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Diccionario de strings repetidos (endpoints, métodos, mensajes...): cada valor distinto
+// se guarda una sola vez y las columnas guardan su id entero. null se codifica como -1.
+public class StringDictionary {
+
+    public static final int NULL_ID = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private volatile int size;
+
+    // Id del valor, agregándolo si es nuevo (solo lo llama el hilo que escribe el store)
+    public synchronized int idOf(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        ids.put(value, size);
+        return size++;
+    }
+
+    // Id del valor sin agregarlo; -1 si no existe
+    public int lookup(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        return ids.getOrDefault(value, NULL_ID);
+    }
+
+    public String value(int id) {
+        return id == NULL_ID ? null : values[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Los valores en orden de id; al leerlos en un diccionario vacío cada uno recupera su id
+    void writeTo(DataOutput out) throws IOException {
+        int count = size;
+        String[] current = values;
+        out.writeInt(count);
+        for (int id = 0; id < count; id++) {
+            SnapshotIO.writeString(out, current[id]);
+        }
+    }
+
+    void readValues(DataInput in) throws IOException {
+        int count = in.readInt();
+        for (int id = 0; id < count; id++) {
+            idOf(SnapshotIO.readString(in));
+        }
+    }
+}
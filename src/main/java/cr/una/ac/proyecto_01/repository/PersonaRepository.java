@@ -2,9 +2,26 @@ package cr.una.ac.proyecto_01.repository;
 
 
 import cr.una.ac.proyecto_01.entity.Persona;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PersonaRepository extends JpaRepository<Persona, Long> {
 
+    // Página por keyset: las siguientes filas con id mayor a "after", usando el índice de la llave primaria.
+    // type puede ser Persona o una proyección (PersonaResumen) que solo selecciona esas columnas
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit, Class<T> type);
+
+    // Recorre las filas con id mayor a "after" sin cargarlas todas; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    <T> Stream<T> streamByIdGreaterThanOrderByIdAsc(Long after, Class<T> type);
 
 }
@@ -0,0 +1,185 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.report.CriticalEventClassifier;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Eventos críticos en tiempo real. LogService clasifica cada entrada al ingerirla y publica las
+// críticas en un buffer circular acotado, cada una con su número de secuencia. Cada suscriptor
+// SSE tiene un hilo virtual que lee el buffer desde su propia posición, así un cliente lento no
+// frena la ingesta ni a los demás; si se atrasa más que el buffer, sigue desde lo más antiguo que quede.
+@Slf4j
+@Component
+public class CriticalEventStream {
+
+    public static final String EVENT_NAME = "critical";
+    // Sin eventos, un comentario cada tanto detecta los clientes que ya se desconectaron
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    public record Event(long sequence, LogEntry entry) {
+    }
+
+    private final CriticalEventClassifier classifier;
+    private final long timeoutMillis;
+    private final LogEntry[] events;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    // Secuencia del próximo evento; solo se modifica con el lock tomado
+    private long nextSequence;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    public CriticalEventStream() {
+        this(List.of("critical"), 500, 1000, TimeUnit.MINUTES.toMillis(30));
+    }
+
+    @Autowired
+    public CriticalEventStream(@Value("${logs.critical.patterns:critical}") List<String> patterns,
+                               @Value("${logs.critical.min-status:500}") int minStatus,
+                               @Value("${logs.critical.buffer-size:1000}") int bufferSize,
+                               @Value("${logs.critical.stream-timeout-ms:1800000}") long timeoutMillis) {
+        this.classifier = new CriticalEventClassifier(patterns, minStatus);
+        this.events = new LogEntry[bufferSize];
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public CriticalEventClassifier getClassifier() {
+        return classifier;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Lo llama LogService por cada entrada crítica ingerida
+    public void publish(LogEntry entry) {
+        lock.lock();
+        try {
+            events[(int) (nextSequence % events.length)] = entry;
+            nextSequence++;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Los eventos que siguen en el buffer, del más antiguo al más nuevo
+    public List<Event> recent() {
+        lock.lock();
+        try {
+            return since(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Abre un stream SSE; con Last-Event-ID retoma después de ese evento, si no envía primero
+    // los eventos que hay en el buffer
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        AtomicBoolean open = new AtomicBoolean(true);
+        Runnable close = () -> {
+            open.set(false);
+            subscribers.remove(emitter);
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(error -> close.run());
+        subscribers.add(emitter);
+
+        long from = lastEventId != null ? lastEventId + 1 : 0;
+        Thread.ofVirtual().name("critical-events-subscriber").start(() -> stream(emitter, from, open));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void stream(SseEmitter emitter, long from, AtomicBoolean open) {
+        long cursor = from;
+        try {
+            while (running && open.get()) {
+                List<Event> batch = awaitSince(cursor);
+                if (batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                for (Event event : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name(EVENT_NAME)
+                            .data(event.entry(), MediaType.APPLICATION_JSON));
+                    cursor = event.sequence() + 1;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El cliente se desconectó o el emitter ya venció
+            log.debug("Critical event subscriber closed: {}", e.getMessage());
+            close(emitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(emitter);
+        }
+    }
+
+    private void close(SseEmitter emitter) {
+        subscribers.remove(emitter);
+        try {
+            emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // Ya estaba cerrado
+        }
+    }
+
+    // Espera hasta que haya eventos desde cursor (o pase el intervalo del heartbeat)
+    private List<Event> awaitSince(long cursor) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = HEARTBEAT_NANOS;
+            // Un cursor más adelante que la secuencia viene de antes de un reinicio: se empieza
+            // de nuevo desde el buffer
+            long from = cursor > nextSequence ? 0 : cursor;
+            while (running && nextSequence <= from && remaining > 0) {
+                remaining = published.awaitNanos(remaining);
+            }
+            return since(from);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Con el lock tomado
+    private List<Event> since(long sequence) {
+        long first = Math.max(sequence, nextSequence - events.length);
+        List<Event> result = new ArrayList<>((int) Math.max(0, nextSequence - first));
+        for (long s = first; s < nextSequence; s++) {
+            result.add(new Event(s, events[(int) (s % events.length)]));
+        }
+        return result;
+    }
+}
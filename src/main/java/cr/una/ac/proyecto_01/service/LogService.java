@@ -1,54 +1,382 @@
 package cr.una.ac.proyecto_01.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cr.una.ac.proyecto_01.aspect.LogExecutionTime;
 import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.entity.LogQuery;
+import cr.una.ac.proyecto_01.entity.LogQueryResult;
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.report.ColumnarLogStore;
+import cr.una.ac.proyecto_01.report.LatencyHistogram;
+import cr.una.ac.proyecto_01.report.LogRollups;
+import cr.una.ac.proyecto_01.report.ParallelReportEngine;
+import cr.una.ac.proyecto_01.report.ReportAggregates;
+import cr.una.ac.proyecto_01.report.ReportRange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
-
-import java.time.LocalDateTime;
-
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+// Los reportes que tarden más de medio segundo quedan registrados con detalle
+@Slf4j
+@LogExecutionTime(slowThresholdMs = 500)
 @Service
 public class LogService {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    File jsonFile = new File("src/main/java/cr/una/ac/proyecto_01/logs/log.json");
-    // Lista que contiene todos los logs cargados al inicializar el servicio
-    private List<LogEntry> logs;
+    public enum ReportType {
+        ERRORS, RESPONSE_TIMES, USAGE, CRITICAL_EVENTS, APPLICATION_STATUS, ALL
+    }
+
+    private record ReportKey(ReportType type, ReportRange range) {
+    }
+
+    // Un reporte vale mientras no cambie la versión de los datos con la que se calculó
+    private record CachedReport(long dataVersion, Optional<Map<String, Object>> report) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    // Logs en memoria por columnas, el ingester los va agregando a medida que se escriben
+    private final ColumnarLogStore store;
+    // Contadores de los reportes, se actualizan en O(1) por cada entrada ingerida
+    private final ReportAggregates aggregates;
+    // Los mismos contadores por minuto, hora y día para los reportes por rango de tiempo
+    private final LogRollups rollups;
+    // Recálculos sobre el store (rangos exactos, eventos críticos) en su propio ForkJoinPool
+    private final ParallelReportEngine reportEngine;
+    // Clasificación de eventos críticos al ingerir y stream en tiempo real de los nuevos
+    private final CriticalEventStream criticalEventStream;
+    private final LogIngester logIngester;
+    // null sin snapshots (se relee todo el log al arrancar)
+    private final ReportSnapshotStore snapshots;
+    // Edad máxima de las filas en memoria (la misma retención que LogArchiver aplica a los
+    // segmentos); 0 = sin retención. La historia resumida sigue en los acumulados y los rollups
+    private final long retentionMillis;
+    // Filas y primera fila retenida del store en el último snapshot; si no cambiaron no vale la pena otro
+    private volatile int snapshotRows;
+    private volatile int snapshotFirstRow;
+    // Sube después de cada entrada ingerida y de cada compactación de los rollups
+    private final AtomicLong dataVersion = new AtomicLong();
+    // Cada rango distinto es una entrada; los dashboards repiten unos pocos. null = sin caché
+    private final Cache<ReportKey, CachedReport> reportCache;
+
+    public LogService(LogIngester logIngester, long minuteRetentionHours, long hourRetentionDays) {
+        this(logIngester, minuteRetentionHours, hourRetentionDays, 0);
+    }
+
+    public LogService(LogIngester logIngester, long minuteRetentionHours, long hourRetentionDays, int reportParallelism) {
+        this(logIngester, minuteRetentionHours, hourRetentionDays, reportParallelism, new CriticalEventStream(), null);
+    }
+
+    public LogService(LogIngester logIngester, long minuteRetentionHours, long hourRetentionDays, int reportParallelism,
+                      CriticalEventStream criticalEventStream, ReportSnapshotStore snapshots) {
+        this(logIngester, minuteRetentionHours, hourRetentionDays, reportParallelism, criticalEventStream, snapshots, 0);
+    }
+
+    public LogService(LogIngester logIngester, long minuteRetentionHours, long hourRetentionDays, int reportParallelism,
+                      CriticalEventStream criticalEventStream, ReportSnapshotStore snapshots, long retentionDays) {
+        this(logIngester, minuteRetentionHours, hourRetentionDays, reportParallelism, criticalEventStream, snapshots,
+                retentionDays, 1000);
+    }
 
-    // Constructor del servicio donde cargamos los logs al iniciar
-    public LogService() {
+    // El constructor no lee el log: carga el último snapshot (si hay) y se suscribe al ingester,
+    // que lee en segundo plano solo lo que vino después
+    @Autowired
+    public LogService(LogIngester logIngester,
+                      @Value("${logs.rollup.minute-retention-hours:6}") long minuteRetentionHours,
+                      @Value("${logs.rollup.hour-retention-days:31}") long hourRetentionDays,
+                      @Value("${logs.report.parallelism:0}") int reportParallelism,
+                      CriticalEventStream criticalEventStream,
+                      ReportSnapshotStore snapshots,
+                      @Value("${logs.retention.max-age-days:0}") long retentionDays,
+                      @Value("${logs.report.cache-size:1000}") int reportCacheSize) {
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        this.reportCache = reportCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(reportCacheSize)
+                .build();
+        long minuteRetentionMillis = TimeUnit.HOURS.toMillis(minuteRetentionHours);
+        long hourRetentionMillis = TimeUnit.DAYS.toMillis(hourRetentionDays);
+        this.reportEngine = new ParallelReportEngine(reportParallelism);
+        this.criticalEventStream = criticalEventStream;
+        this.logIngester = logIngester;
+        this.snapshots = snapshots;
+
+        Optional<ReportSnapshotStore.Snapshot> snapshot = snapshots == null ? Optional.empty()
+                : snapshots.loadLatest(logIngester, criticalEventStream.getClassifier(), minuteRetentionMillis, hourRetentionMillis);
+        if (snapshot.isPresent()) {
+            this.store = snapshot.get().store();
+            this.aggregates = snapshot.get().aggregates();
+            this.rollups = snapshot.get().rollups();
+            this.snapshotRows = store.size();
+            this.snapshotFirstRow = store.firstRow();
+            logIngester.seek(snapshot.get().segmentId(), snapshot.get().offset());
+        } else {
+            this.store = new ColumnarLogStore();
+            this.aggregates = new ReportAggregates();
+            this.rollups = new LogRollups(minuteRetentionMillis, hourRetentionMillis);
+        }
+        logIngester.addListener(this::ingest);
+    }
+
+    // Un último snapshot al cerrar, así el próximo arranque no tiene cola que releer
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+        reportEngine.close();
+    }
+
+    // Guarda el estado de los reportes con la posición del ingester que cubre, si entró algo nuevo
+    @Scheduled(fixedDelayString = "${logs.snapshot.interval-ms:300000}", initialDelayString = "${logs.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        int rows = store.size();
+        int firstRow = store.firstRow();
+        if (snapshots == null || (rows == snapshotRows && firstRow == snapshotFirstRow)) {
+            return;
+        }
         try {
-            this.logs = objectMapper.readValue(jsonFile, new TypeReference<List<LogEntry>>() {});
+            snapshots.write(logIngester, store, aggregates, rollups);
+            snapshotRows = rows;
+            snapshotFirstRow = firstRow;
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Could not write report snapshot", e);
+        }
+    }
+
+    // Recibe cada entrada nueva leída por el ingester
+    public void ingest(LogEntry entry) {
+        long timestamp = LogSegmentStore.parseTimestamp(entry.getTimestamp());
+        boolean critical = criticalEventStream.getClassifier().isCritical(entry.getStatus(), entry.getMessage());
+        store.append(entry, timestamp, critical);
+        aggregates.record(entry, timestamp);
+        rollups.record(entry, timestamp);
+        if (critical) {
+            criticalEventStream.publish(entry);
+        }
+        // Recién con la entrada en todos los acumulados: un reporte calculado a mitad de camino
+        // queda guardado con la versión anterior y se vuelve a calcular en la próxima consulta
+        dataVersion.incrementAndGet();
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    // Descarta los buckets por minuto/hora que ya pasaron su retención y las filas en memoria más
+    // viejas que logs.retention.max-age-days
+    @Scheduled(fixedDelayString = "${logs.rollup.compact-interval-ms:60000}")
+    public void compactRollups() {
+        long now = System.currentTimeMillis();
+        rollups.compact(now);
+        applyRetention(now);
+        dataVersion.incrementAndGet();
+    }
+
+    // Suelta las filas con timestamp anterior a now - retención: dejan de aparecer en /query, /all y
+    // los recálculos por rango, y el próximo snapshot ya no las incluye. Devuelve cuántas se soltaron
+    public int applyRetention(long nowMillis) {
+        if (retentionMillis <= 0) {
+            return 0;
+        }
+        int dropped = store.trimBefore(nowMillis - retentionMillis);
+        if (dropped > 0) {
+            dataVersion.incrementAndGet();
+            log.info("Dropped {} in-memory log rows past retention", dropped);
+        }
+        return dropped;
+    }
+
+    // Devuelve el reporte guardado si se calculó con la versión actual de los datos; si no, lo
+    // calcula y lo guarda. Los mapas guardados son de solo lectura porque se comparten entre peticiones
+    private Optional<Map<String, Object>> cachedReport(ReportType type, ReportRange range,
+                                                       Supplier<Optional<Map<String, Object>>> generator) {
+        if (reportCache == null) {
+            return generator.get().map(Collections::unmodifiableMap);
+        }
+        long version = dataVersion.get();
+        ReportKey key = new ReportKey(type, range);
+        CachedReport cached = reportCache.getIfPresent(key);
+        if (cached != null && cached.dataVersion() == version) {
+            return cached.report();
+        }
+        Optional<Map<String, Object>> report = generator.get().map(Collections::unmodifiableMap);
+        reportCache.put(key, new CachedReport(version, report));
+        return report;
+    }
+
+    // Acumulados de toda la historia o, si hay rango, exactos para [from, to]: los buckets que caen
+    // enteros en el rango salen de los rollups y los pedazos de los bordes se recalculan en paralelo
+    // sobre las filas del rango
+    private ReportAggregates aggregatesFor(ReportRange range) {
+        if (range.isAll()) {
+            return aggregates;
+        }
+        LogRollups.Granularity granularity = granularityFor(range);
+        ReportAggregates result = rollups.aggregate(range.fromMillis(), range.toMillis(), granularity);
+        for (long[] edge : partialEdges(range, granularity)) {
+            result.merge(reportEngine.aggregate(store, edge[0], edge[1]));
+        }
+        return result;
+    }
+
+    // Pedazos [desde, hasta] del rango que no llenan un bucket entero: a lo sumo uno por borde, o el
+    // rango completo si no cubre ningún bucket
+    private static List<long[]> partialEdges(ReportRange range, LogRollups.Granularity granularity) {
+        long from = range.fromMillis();
+        long to = range.toMillis();
+        long innerFrom = from == Long.MIN_VALUE ? from : granularity.nextBucketStart(from);
+        long innerTo = to == Long.MAX_VALUE ? to : granularity.bucketStart(to + 1) - 1;
+        if (innerFrom > innerTo) {
+            return List.<long[]>of(new long[]{from, to});
         }
+        List<long[]> edges = new ArrayList<>(2);
+        if (from < innerFrom) {
+            edges.add(new long[]{from, innerFrom - 1});
+        }
+        if (innerTo < to) {
+            edges.add(new long[]{innerTo + 1, to});
+        }
+        return edges;
+    }
+
+    // Recalcula desde las filas en memoria los acumulados del rango, repartido entre los hilos
+    // del motor de reportes
+    public ReportAggregates recomputeAggregates(ReportRange range) {
+        return reportEngine.aggregate(store, range.fromMillis(), range.toMillis());
+    }
+
+    private LogRollups.Granularity granularityFor(ReportRange range) {
+        if (range.getGranularity() != null) {
+            return rollups.availableGranularity(range.getGranularity(), range.fromMillis(), System.currentTimeMillis());
+        }
+        long to = Math.min(range.toMillis(), System.currentTimeMillis());
+        return rollups.chooseGranularity(range.fromMillis(), to, System.currentTimeMillis());
+    }
+
+    // Datos del rango y evolución por bucket, solo para reportes con rango
+    private Optional<Map<String, Object>> withRangeInfo(Optional<Map<String, Object>> report, ReportRange range) {
+        if (report.isEmpty() || range.isAll()) {
+            return report;
+        }
+        LogRollups.Granularity granularity = granularityFor(range);
+        report.get().put("from", range.getFrom());
+        report.get().put("to", range.getTo());
+        report.get().put("granularity", granularity);
+        report.get().put("timeline", timeline(range, granularity));
+        return report;
+    }
+
+    // Los buckets enteros de los rollups más los pedazos de los bordes recalculados, cada uno bajo
+    // el inicio de su bucket, así la evolución tampoco cuenta nada fuera del rango
+    private Map<String, Map<String, Long>> timeline(ReportRange range, LogRollups.Granularity granularity) {
+        Map<String, Map<String, Long>> timeline = rollups.timeline(range.fromMillis(), range.toMillis(), granularity);
+        for (long[] edge : partialEdges(range, granularity)) {
+            ReportAggregates part = reportEngine.aggregate(store, edge[0], edge[1]);
+            if (part.getTotalRequests() > 0) {
+                timeline.put(Instant.ofEpochMilli(granularity.bucketStart(edge[0])).toString(),
+                        Map.of("requests", part.getTotalRequests(), "errors", part.getTotalErrors()));
+            }
+        }
+        return timeline;
     }
 
+    public int logCount() {
+        return store.size();
+    }
 
+    // Escribe las filas [fromRow, toRow) directo al stream, una entrada a la vez, como arreglo
+    // JSON o como NDJSON (una entrada por línea); nunca arma la lista completa en memoria
+    public void writeLogs(int fromRow, int toRow, boolean ndjson, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (ndjson) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            boolean written = false;
+            for (int row = Math.max(fromRow, store.firstRow()); row < toRow; row++) {
+                // null: descartada por retención
+                LogEntry entry = store.entryAt(row);
+                if (entry != null) {
+                    objectMapper.writeValue(generator, entry);
+                    written = true;
+                }
+                if ((row & 1023) == 1023) {
+                    generator.flush();
+                }
+            }
+            if (ndjson) {
+                if (written) {
+                    generator.writeRaw('\n');
+                }
+            } else {
+                generator.writeEndArray();
+            }
+        }
+    }
 
-    // Metodo para obtener los logs de forma opcional
-    public Optional<List<LogEntry>> readLogs() {
-        return logs.isEmpty() ? Optional.empty() : Optional.of(logs);
+    // Consulta de logs con filtros, paginada por cursor (número de fila)
+    public LogQueryResult queryLogs(LogQuery query, int cursor, int limit) {
+        List<LogEntry> entries = new ArrayList<>(Math.min(limit, 1024));
+        int nextCursor = store.query(query, cursor, limit, entries);
+        return new LogQueryResult(entries, nextCursor >= 0 ? nextCursor : null);
+    }
+
+    // Los cinco reportes juntos para los dashboards: los acumulados del rango se calculan una
+    // sola vez y se comparten, y el rango y la evolución van una sola vez al nivel superior
+    public Optional<Map<String, Object>> generateAllReports() {
+        return generateAllReports(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateAllReports(ReportRange range) {
+        return cachedReport(ReportType.ALL, range, () -> {
+            ReportAggregates aggregates = aggregatesFor(range);
+            if (aggregates.getTotalRequests() == 0) {
+                return Optional.empty();
+            }
+            Map<String, Object> reports = new LinkedHashMap<>();
+            errorReport(aggregates).ifPresent(report -> reports.put("errors", report));
+            responseTimeReport(aggregates).ifPresent(report -> reports.put("responseTimes", report));
+            endpointUsageReport(aggregates).ifPresent(report -> reports.put("usage", report));
+            criticalEventReport(range).ifPresent(report -> reports.put("criticalEvents", report));
+            applicationStatusReport(aggregates).ifPresent(report -> reports.put("applicationStatus", report));
+            return withRangeInfo(Optional.of(reports), range);
+        });
     }
 
     // Reporte de Errores
     public Optional<Map<String, Object>> generateErrorReport() {
-        if (logs.isEmpty()) {
+        return generateErrorReport(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateErrorReport(ReportRange range) {
+        return cachedReport(ReportType.ERRORS, range, () -> withRangeInfo(errorReport(aggregatesFor(range)), range));
+    }
+
+    private Optional<Map<String, Object>> errorReport(ReportAggregates aggregates) {
+        if (aggregates.getTotalRequests() == 0) {
             return Optional.empty();
         }
 
 
         // Número total de errores registrados por tipo
-        Map<String, Long> errorCounts = logs.stream()
-                .filter(log -> log.getStatus() >= 400)
-                .collect(Collectors.groupingBy(LogEntry::getErrorMessage, Collectors.counting()));
+        Map<String, Long> errorCounts = aggregates.getErrorsByMessage();
 
         // Errores más frecuentes
         Optional<String> mostFrequentError = errorCounts.entrySet().stream()
@@ -56,12 +384,7 @@ public class LogService {
                 .map(Map.Entry::getKey);
 
         // Horas pico de errores
-        Map<Integer, Long> errorPeakHours = logs.stream()
-                .filter(log -> log.getStatus() >= 400)
-                .collect(Collectors.groupingBy(log ->
-                                LocalDateTime.parse(log.getTimestamp(), DateTimeFormatter.ISO_DATE_TIME).getHour(),
-                        Collectors.counting()
-                ));
+        Map<Integer, Long> errorPeakHours = aggregates.getErrorsByHour();
 
         Optional<Integer> peakHour = errorPeakHours.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
@@ -80,26 +403,31 @@ public class LogService {
 
     // Reporte de Tiempos de Respuesta
     public Optional<Map<String, Object>> generateResponseTimeReport() {
-        if (logs.isEmpty()) {
+        return generateResponseTimeReport(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateResponseTimeReport(ReportRange range) {
+        return cachedReport(ReportType.RESPONSE_TIMES, range, () -> withRangeInfo(responseTimeReport(aggregatesFor(range)), range));
+    }
+
+    private Optional<Map<String, Object>> responseTimeReport(ReportAggregates aggregates) {
+        if (aggregates.getTotalRequests() == 0) {
             return Optional.empty();
         }
 
-        List<Long> responseTimes = logs.stream()
-                .map(LogEntry::getResponseTimeMs)
-                .sorted()
-                .toList();
+        // Percentiles desde el histograma, sin ordenar los tiempos
+        LatencyHistogram responseTimes = aggregates.getResponseTimes();
 
-        long minTime = responseTimes.getFirst();
-        long maxTime = responseTimes.getLast();
-        double averageTime = responseTimes.stream().mapToLong(Long::longValue).average().orElse(0);
-        long medianTime = responseTimes.get(responseTimes.size() / 2);
+        long minTime = aggregates.getMinResponseTime();
+        long maxTime = aggregates.getMaxResponseTime();
+        double averageTime = aggregates.getAverageResponseTime();
+        long medianTime = responseTimes.valueAtPercentile(50);
 
         // Distribución por endpoint
-        Map<String, Double> avgTimeByEndpoint = logs.stream()
-                .collect(Collectors.groupingBy(LogEntry::getEndpoint, Collectors.averagingLong(LogEntry::getResponseTimeMs)));
+        Map<String, Double> avgTimeByEndpoint = aggregates.getAverageResponseTimeByEndpoint();
 
         // Solicitudes lentas (outliers: tiempos mayores al percentil 90)
-        double ninetyPercentile = responseTimes.get((int) (responseTimes.size() * 0.9));
+        double ninetyPercentile = responseTimes.valueAtPercentile(90);
 
         Map<String, Object> report = new HashMap<>();
         report.put("minResponseTime", minTime);
@@ -108,6 +436,8 @@ public class LogService {
         report.put("medianResponseTime", medianTime);
         report.put("responseTimeDistributionByEndpoint", avgTimeByEndpoint);
         report.put("slowRequests", ninetyPercentile);
+        report.put("percentiles", responseTimes.percentiles());
+        report.put("percentilesByEndpoint", aggregates.getPercentilesByEndpoint());
         return Optional.of(report); // Devolver el reporte
     }
 
@@ -117,23 +447,30 @@ public class LogService {
 
     // Reporte de Uso de Endpoints
     public Optional<Map<String, Object>> generateEndpointUsageReport() {
-        if (logs.isEmpty()) {
+        return generateEndpointUsageReport(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateEndpointUsageReport(ReportRange range) {
+        return cachedReport(ReportType.USAGE, range, () -> withRangeInfo(endpointUsageReport(aggregatesFor(range)), range));
+    }
+
+    private Optional<Map<String, Object>> endpointUsageReport(ReportAggregates aggregates) {
+        if (aggregates.getTotalRequests() == 0) {
             return Optional.empty();
         }
 
         // Conteo por endpoint y metodo
-        Map<String, Map<String, Long>> usageByEndpointAndMethod = logs.stream()
-                .collect(Collectors.groupingBy(LogEntry::getEndpoint,
-                        Collectors.groupingBy(LogEntry::getMethod, Collectors.counting())));
+        Map<String, Map<String, Long>> usageByEndpointAndMethod = aggregates.getUsageByEndpointAndMethod();
+        Map<String, Long> requestsByEndpoint = aggregates.getRequestsByEndpoint();
 
         // Endpoints más utilizados
-        Optional<String> mostUsedEndpoint = usageByEndpointAndMethod.entrySet().stream()
-                .max(Comparator.comparingLong(entry -> entry.getValue().values().stream().mapToLong(Long::longValue).sum()))
+        Optional<String> mostUsedEndpoint = requestsByEndpoint.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey);
 
         // Endpoints menos utilizados
-        Optional<String> leastUsedEndpoint = usageByEndpointAndMethod.entrySet().stream()
-                .min(Comparator.comparingLong(entry -> entry.getValue().values().stream().mapToLong(Long::longValue).sum()))
+        Optional<String> leastUsedEndpoint = requestsByEndpoint.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey);
 
         Map<String, Object> report = new HashMap<>();
@@ -148,14 +485,30 @@ public class LogService {
 
     // Reporte de Eventos Críticos
     public Optional<Map<String, Object>> generateCriticalEventReport() {
-        if (logs.isEmpty()) {
+        return generateCriticalEventReport(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateCriticalEventReport(ReportRange range) {
+        return cachedReport(ReportType.CRITICAL_EVENTS, range, () -> withRangeInfo(criticalEventReport(range), range));
+    }
+
+    private Optional<Map<String, Object>> criticalEventReport(ReportRange range) {
+        int size = store.size();
+        long from = range.fromMillis();
+        long to = range.toMillis();
+        if (size == 0) {
             return Optional.empty();
         }
 
-        // Filtrar eventos críticos (status >= 500 o mensajes con "critical")
-        List<LogEntry> criticalEvents = logs.stream()
-                .filter(log -> log.getStatus() >= 500 || log.getMessage().toLowerCase().contains("critical"))
-                .collect(Collectors.toList());
+        // Filtrar eventos críticos con la marca que se calculó al ingerir, bloques en paralelo
+        int[] rows = reportEngine.matchingRows(store, from, to, (chunk, i) -> chunk.critical[i]);
+        List<LogEntry> criticalEvents = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            LogEntry entry = store.entryAt(row);
+            if (entry != null) {
+                criticalEvents.add(entry);
+            }
+        }
 
         // Conteo de eventos críticos
         long criticalEventCount = criticalEvents.size();
@@ -172,18 +525,23 @@ public class LogService {
 
     // Reporte de Estado de la Aplicación
     public Optional<Map<String, Object>> generateApplicationStatusReport() {
-        if (logs.isEmpty()) {
+        return generateApplicationStatusReport(ReportRange.ALL);
+    }
+
+    public Optional<Map<String, Object>> generateApplicationStatusReport(ReportRange range) {
+        return cachedReport(ReportType.APPLICATION_STATUS, range, () -> withRangeInfo(applicationStatusReport(aggregatesFor(range)), range));
+    }
+
+    private Optional<Map<String, Object>> applicationStatusReport(ReportAggregates aggregates) {
+        if (aggregates.getTotalRequests() == 0) {
             return Optional.empty();
         }
 
-        long totalRequests = logs.size();
-        long totalErrors = logs.stream().filter(log -> log.getStatus() >= 400).count();
-        double averageResponseTime = logs.stream().mapToLong(LogEntry::getResponseTimeMs).average().orElse(0);
-
         Map<String, Object> report = new HashMap<>();
-        report.put("totalRequests", totalRequests);
-        report.put("totalErrors", totalErrors);
-        report.put("averageResponseTime", averageResponseTime);
+        report.put("totalRequests", aggregates.getTotalRequests());
+        report.put("totalErrors", aggregates.getTotalErrors());
+        report.put("averageResponseTime", aggregates.getAverageResponseTime());
+        report.put("requestsByStatus", aggregates.getRequestsByStatus());
         return Optional.of(report); // Devolver el reporte
     }
 
@@ -0,0 +1,308 @@
+package cr.una.ac.proyecto_01.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import cr.una.ac.proyecto_01.aspect.LogExecutionTime;
+import cr.una.ac.proyecto_01.entity.BulkItemResult;
+import cr.una.ac.proyecto_01.entity.BulkResult;
+import cr.una.ac.proyecto_01.entity.Persona;
+import cr.una.ac.proyecto_01.repository.PersonaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Acceso a Persona con caché de lectura. Las personas cambian poco, así que las lecturas
+// de ids frecuentes y la lista completa se responden desde memoria sin tocar la base de datos.
+// Cada escritura actualiza la entrada de su id e invalida la lista completa.
+@LogExecutionTime(slowThresholdMs = 500)
+@Service
+public class PersonaService {
+
+    public static final String PERSONA_CACHE = "persona";
+    public static final String PERSONAS_CACHE = "personas";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private final ObjectReader personaReader = objectMapper.readerFor(Persona.class);
+    private final PersonaRepository personaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkChunkSize;
+    // Para invalidar las cachés después de cada chunk de una carga masiva; null = sin caché
+    private final CacheManager cacheManager;
+
+    public enum BulkOperation {INSERT, UPDATE, DELETE}
+
+    public PersonaService(PersonaRepository personaRepository, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${persona.bulk.chunk-size:500}") int bulkChunkSize) {
+        this(personaRepository, entityManager, transactionManager, bulkChunkSize, null);
+    }
+
+    @Autowired
+    public PersonaService(PersonaRepository personaRepository, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${persona.bulk.chunk-size:500}") int bulkChunkSize,
+                          CacheManager cacheManager) {
+        this.personaRepository = personaRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkChunkSize = bulkChunkSize;
+        this.cacheManager = cacheManager;
+    }
+
+    // Los ids inexistentes no se guardan, así una persona creada después se ve enseguida
+    // Lectura más frecuente: se mide una de cada diez llamadas
+    @LogExecutionTime(sampleRate = 0.1, slowThresholdMs = 500)
+    @Cacheable(cacheNames = PERSONA_CACHE, key = "#id", unless = "#result == null")
+    public Optional<Persona> findById(Long id) {
+        return personaRepository.findById(id);
+    }
+
+    // Copia inmutable para que nadie modifique la lista que queda en caché
+    @Cacheable(cacheNames = PERSONAS_CACHE, key = "'all'")
+    public List<Persona> findAll() {
+        return List.copyOf(personaRepository.findAll());
+    }
+
+    // Página por keyset (id > after); no pasa por la caché porque cada página es distinta
+    public <T> List<T> findPage(long after, int limit, Class<T> type) {
+        return personaRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit), type);
+    }
+
+    // Escribe las filas (desde id > after) como arreglo JSON o NDJSON a medida que se leen.
+    // Cada entidad se saca del contexto de persistencia después de escribirla, así un export
+    // grande no acumula la tabla en memoria
+    @Transactional(readOnly = true)
+    public void writePersonas(long after, Class<?> type, boolean ndjson, OutputStream out) throws IOException {
+        try (Stream<?> rows = personaRepository.streamByIdGreaterThanOrderByIdAsc(after, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (ndjson) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            long count = 0;
+            for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                Object row = iterator.next();
+                objectMapper.writeValue(generator, row);
+                if (row instanceof Persona) {
+                    entityManager.detach(row);
+                }
+                if ((count & 1023) == 1023) {
+                    generator.flush();
+                }
+            }
+            if (ndjson) {
+                if (count > 0) {
+                    generator.writeRaw('\n');
+                }
+            } else {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = PERSONA_CACHE, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = PERSONAS_CACHE, allEntries = true)
+    )
+    public Persona save(Persona persona) {
+        return personaRepository.save(persona);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PERSONA_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = PERSONAS_CACHE, allEntries = true)
+    })
+    public void deleteById(Long id) {
+        personaRepository.deleteById(id);
+    }
+
+    // Carga masiva desde un arreglo JSON o NDJSON. El cuerpo se lee por streaming y se aplica en
+    // chunks de bulkChunkSize, cada uno en su propia transacción, así Hibernate agrupa los
+    // INSERT/UPDATE en lotes JDBC. Los chunks ya confirmados se mantienen aunque uno posterior falle.
+    // Si el cuerpo se corta o trae JSON inválido se aplican las personas leídas hasta ahí y el error
+    // queda como último elemento fallido del resultado, así el cliente sabe qué se confirmó
+    public BulkResult bulk(BulkOperation operation, InputStream body) {
+        BulkResult result = new BulkResult();
+        List<Persona> chunk = new ArrayList<>(bulkChunkSize);
+        BulkItemResult bodyError = null;
+        try (MappingIterator<Persona> personas = personaReader.readValues(body)) {
+            while (personas.hasNext()) {
+                chunk.add(personas.next());
+                if (chunk.size() == bulkChunkSize) {
+                    applyChunk(operation, chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // MappingIterator envuelve los errores de lectura en excepciones no verificadas
+            bodyError = new BulkItemResult(0, null, 400, "Malformed body: " + rootMessage(e));
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(operation, chunk, result);
+        }
+        if (bodyError != null) {
+            bodyError.setIndex(result.getTotal());
+            result.add(bodyError);
+        }
+        return result;
+    }
+
+    // Las cachés se invalidan después de cada chunk (aunque falle), no al final de la carga: los
+    // chunks anteriores ya están confirmados aunque uno posterior o la lectura del cuerpo fallen
+    private void applyChunk(BulkOperation operation, List<Persona> chunk, BulkResult result) {
+        try {
+            applyChunkItems(operation, chunk, result);
+        } finally {
+            evictCaches();
+        }
+    }
+
+    private void evictCaches() {
+        if (cacheManager == null) {
+            return;
+        }
+        for (String name : List.of(PERSONA_CACHE, PERSONAS_CACHE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void applyChunkItems(BulkOperation operation, List<Persona> chunk, BulkResult result) {
+        int firstIndex = result.getTotal();
+        List<Long> originalIds = chunk.stream().map(Persona::getId).toList();
+        List<BulkItemResult> items;
+        try {
+            items = transactionTemplate.execute(status -> applyInTransaction(operation, chunk, firstIndex));
+        } catch (RuntimeException e) {
+            // Un error de la base de datos deshace todo el chunk: se reintenta fila por fila
+            // para confirmar las válidas y saber cuál falló
+            items = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Persona persona = chunk.get(i);
+                persona.setId(originalIds.get(i));
+                int index = firstIndex + i;
+                try {
+                    items.addAll(transactionTemplate.execute(status -> applyInTransaction(operation, List.of(persona), index)));
+                } catch (RuntimeException itemError) {
+                    items.add(new BulkItemResult(index, originalIds.get(i), 500, rootMessage(itemError)));
+                }
+            }
+        }
+        items.forEach(result::add);
+    }
+
+    private List<BulkItemResult> applyInTransaction(BulkOperation operation, List<Persona> chunk, int firstIndex) {
+        List<BulkItemResult> items = new ArrayList<>(chunk.size());
+        switch (operation) {
+            case INSERT -> {
+                List<Persona> inserted = new ArrayList<>(chunk.size());
+                for (Persona persona : chunk) {
+                    if (persona.getId() != null) {
+                        items.add(new BulkItemResult(firstIndex + items.size(), persona.getId(), 400, "Id must be empty on insert"));
+                        continue;
+                    }
+                    entityManager.persist(persona);
+                    inserted.add(persona);
+                    items.add(new BulkItemResult(firstIndex + items.size(), null, 201, null));
+                }
+                entityManager.flush();
+                // Los ids se asignan en persist; se completan después del flush
+                int next = 0;
+                for (BulkItemResult item : items) {
+                    if (item.getStatus() == 201) {
+                        item.setId(inserted.get(next++).getId());
+                    }
+                }
+            }
+            case UPDATE -> {
+                Map<Long, Persona> existing = loadExisting(chunk);
+                for (Persona persona : chunk) {
+                    Persona current = persona.getId() == null ? null : existing.get(persona.getId());
+                    if (current == null) {
+                        items.add(missing(firstIndex + items.size(), persona));
+                        continue;
+                    }
+                    current.setNombre(persona.getNombre());
+                    current.setEdad(persona.getEdad());
+                    items.add(new BulkItemResult(firstIndex + items.size(), persona.getId(), 200, null));
+                }
+                entityManager.flush();
+            }
+            case DELETE -> {
+                Map<Long, Persona> existing = loadExisting(chunk);
+                List<Long> deleted = new ArrayList<>(existing.size());
+                for (Persona persona : chunk) {
+                    if (persona.getId() == null || existing.remove(persona.getId()) == null) {
+                        items.add(missing(firstIndex + items.size(), persona));
+                        continue;
+                    }
+                    deleted.add(persona.getId());
+                    items.add(new BulkItemResult(firstIndex + items.size(), persona.getId(), 200, null));
+                }
+                // Un solo DELETE ... WHERE id IN (...) por chunk
+                if (!deleted.isEmpty()) {
+                    personaRepository.deleteAllByIdInBatch(deleted);
+                }
+            }
+        }
+        // El contexto de persistencia no crece de un chunk al siguiente
+        entityManager.clear();
+        return items;
+    }
+
+    // Filas existentes del chunk con un solo SELECT ... WHERE id IN (...)
+    private Map<Long, Persona> loadExisting(List<Persona> chunk) {
+        List<Long> ids = chunk.stream().map(Persona::getId).filter(id -> id != null).distinct().toList();
+        Map<Long, Persona> existing = new HashMap<>();
+        for (Persona persona : personaRepository.findAllById(ids)) {
+            existing.put(persona.getId(), persona);
+        }
+        return existing;
+    }
+
+    private static BulkItemResult missing(int index, Persona persona) {
+        return persona.getId() == null
+                ? new BulkItemResult(index, null, 400, "Id is required")
+                : new BulkItemResult(index, persona.getId(), 404, "Not Found");
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,203 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.report.ColumnarLogStore;
+import cr.una.ac.proyecto_01.report.CriticalEventClassifier;
+import cr.una.ac.proyecto_01.report.LogRollups;
+import cr.una.ac.proyecto_01.report.ReportAggregates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Snapshots binarios del estado de los reportes (filas en memoria, acumulados y rollups) junto
+// con la posición del ingester que cubren. Al arrancar se carga el más reciente y el ingester
+// sigue desde esa posición, así solo se relee la cola del log y no toda la historia.
+// Formato: magic, versión, posición, acumulados, rollups, store y al final el CRC32 de todo lo
+// anterior. Se escribe a un archivo temporal que se renombra (atómico) al terminar, así un
+// corte a mitad de camino nunca deja un snapshot a medias; uno corrupto o de otra versión se
+// descarta y se prueba con el anterior.
+@Slf4j
+@Component
+public class ReportSnapshotStore {
+
+    private static final int MAGIC = 0x4C4F4753;
+    // Subir al cambiar el formato: los snapshots de otra versión se ignoran y se relee el log
+    // (2: el store guarda la primera fila y el corte de retención)
+    public static final int FORMAT_VERSION = 2;
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    public record Snapshot(Path file, long segmentId, long offset, ColumnarLogStore store,
+                           ReportAggregates aggregates, LogRollups rollups) {
+    }
+
+    private final Path directory;
+    private final int retained;
+    // El @Scheduled y el cierre pueden escribir a la vez; ReentrantLock porque hace I/O con el lock
+    // tomado (con hilos virtuales encendidos no fija el portador)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ReportSnapshotStore(@Value("${logs.snapshot.dir:src/main/java/cr/una/ac/proyecto_01/logs/snapshots}") String directory,
+                               @Value("${logs.snapshot.retained:2}") int retained) throws IOException {
+        this.directory = Path.of(directory);
+        this.retained = Math.max(1, retained);
+        Files.createDirectories(this.directory);
+        // Restos de una escritura que se cortó
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Escribe un snapshot consistente con la posición del ingester: los acumulados y los rollups se
+    // escriben sin ningún poll en curso; las filas del store, ya fuera del checkpoint, solo hasta
+    // el tamaño que tenía en ese momento (las filas publicadas no cambian)
+    public Path write(LogIngester ingester, ColumnarLogStore store, ReportAggregates aggregates,
+                      LogRollups rollups) throws IOException {
+        writeLock.lock();
+        try {
+            Path temp = Files.createTempFile(directory, SNAPSHOT_PREFIX, TEMP_SUFFIX);
+            long[] position = new long[2];
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                CRC32 crc = new CRC32();
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), crc), BUFFER_BYTES));
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                int size = ingester.atCheckpoint((segmentId, offset) -> {
+                    position[0] = segmentId;
+                    position[1] = offset;
+                    out.writeLong(segmentId);
+                    out.writeLong(offset);
+                    aggregates.writeTo(out);
+                    rollups.writeTo(out);
+                    return store.size();
+                });
+                store.writeTo(out, size);
+                out.flush();
+
+                ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).flip();
+                while (trailer.hasRemaining()) {
+                    channel.write(trailer);
+                }
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+
+            Path file = directory.resolve(String.format("%s%08d-%016d%s", SNAPSHOT_PREFIX, position[0], position[1], SNAPSHOT_SUFFIX));
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            prune();
+            return file;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // El snapshot válido más reciente desde cuya posición el ingester puede seguir leyendo
+    public Optional<Snapshot> loadLatest(LogIngester ingester, CriticalEventClassifier classifier,
+                                         long minuteRetentionMillis, long hourRetentionMillis) {
+        for (Path file : snapshots()) {
+            try {
+                if (!checksumMatches(file)) {
+                    log.warn("Ignoring snapshot {}: checksum does not match", file);
+                    continue;
+                }
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES))) {
+                    if (in.readInt() != MAGIC) {
+                        log.warn("Ignoring snapshot {}: not a report snapshot", file);
+                        continue;
+                    }
+                    int version = in.readInt();
+                    if (version != FORMAT_VERSION) {
+                        log.warn("Ignoring snapshot {}: format version {} (expected {})", file, version, FORMAT_VERSION);
+                        continue;
+                    }
+                    long segmentId = in.readLong();
+                    long offset = in.readLong();
+                    if (!ingester.canResumeFrom(segmentId, offset)) {
+                        log.warn("Ignoring snapshot {}: segment {} offset {} is not in the log", file, segmentId, offset);
+                        continue;
+                    }
+                    ReportAggregates aggregates = ReportAggregates.readFrom(in);
+                    LogRollups rollups = LogRollups.readFrom(in, minuteRetentionMillis, hourRetentionMillis);
+                    ColumnarLogStore store = ColumnarLogStore.readFrom(in, classifier);
+                    log.info("Loaded snapshot {} with {} entries", file, store.size());
+                    return Optional.of(new Snapshot(file, segmentId, offset, store, aggregates, rollups));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring snapshot {}: {}", file, e.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Snapshots del más reciente (posición más avanzada) al más antiguo
+    public List<Path> snapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not list snapshots in {}", directory, e);
+            return List.of();
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> all = snapshots();
+        for (Path old : all.subList(Math.min(retained, all.size()), all.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static boolean checksumMatches(Path file) throws IOException {
+        long length = Files.size(file);
+        if (length < 2 * Integer.BYTES + Long.BYTES) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_BYTES];
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES)) {
+            long remaining = length - Long.BYTES;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+            return new DataInputStream(in).readLong() == crc.getValue();
+        }
+    }
+}
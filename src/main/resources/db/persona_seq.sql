@@ -0,0 +1,7 @@
+-- Secuencia de ids de Persona para MySQL (Hibernate la emula con una tabla de una fila).
+-- Se parte por encima del id más alto actual más un bloque (allocationSize = 100),
+-- así los ids asignados por bloques nunca chocan con los que generó AUTO_INCREMENT.
+CREATE TABLE IF NOT EXISTS persona_seq (next_val BIGINT);
+INSERT INTO persona_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM persona
+WHERE NOT EXISTS (SELECT 1 FROM persona_seq);
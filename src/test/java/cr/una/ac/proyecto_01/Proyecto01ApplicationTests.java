@@ -2,8 +2,11 @@ package cr.una.ac.proyecto_01;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
+// Perfil embedded: H2 en memoria, sin depender de un MySQL local
 @SpringBootTest
+@ActiveProfiles("embedded")
 class Proyecto01ApplicationTests {
 
     @Test
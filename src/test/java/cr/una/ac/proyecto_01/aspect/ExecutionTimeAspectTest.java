@@ -0,0 +1,105 @@
+package cr.una.ac.proyecto_01.aspect;
+
+import cr.una.ac.proyecto_01.metrics.MethodTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionTimeAspectTest {
+
+    @LogExecutionTime(name = "sample")
+    public static class SampleService {
+
+        public int fast() {
+            return 1;
+        }
+
+        @LogExecutionTime(name = "sample.named")
+        public int named() {
+            return 2;
+        }
+
+        @LogExecutionTime(sampleRate = 0)
+        public int neverSampled() {
+            return 3;
+        }
+
+        @LogExecutionTime(slowThresholdMs = 5)
+        public int slow() throws InterruptedException {
+            Thread.sleep(10);
+            return 4;
+        }
+    }
+
+    public static class PlainService {
+
+        public int untimed() {
+            return 5;
+        }
+    }
+
+    private MethodTimings methodTimings;
+    private SampleService service;
+
+    @BeforeEach
+    void setUp() {
+        methodTimings = new MethodTimings(new SimpleMeterRegistry());
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExecutionTimeAspect(methodTimings));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void classAnnotationTimesEveryMethodWithItsNameAsPrefix() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            service.fast();
+        }
+        service.named();
+
+        assertEquals(10, methodTimings.timing("sample.fast").getCount());
+        assertEquals(1, methodTimings.timing("sample.named").getCount());
+    }
+
+    @Test
+    void zeroSampleRateSkipsTiming() {
+        for (int i = 0; i < 100; i++) {
+            service.neverSampled();
+        }
+
+        assertEquals(0, methodTimings.timing("sample.neverSampled").getCount());
+    }
+
+    @Test
+    void slowCallsAreCounted() throws Exception {
+        service.slow();
+
+        MethodTimings.Timing timing = methodTimings.timing("sample.slow");
+        assertEquals(1, timing.getCount());
+        assertEquals(1, timing.getSlowCount());
+        assertTrue(timing.getMaxMicros() >= 10_000);
+    }
+
+    @Test
+    void slowCallLogShowsArgumentTypesUnlessValuesAreRequested() {
+        Object[] args = {"Ana Pérez", 42L, null};
+
+        assertEquals("[String, Long, null]", ExecutionTimeAspect.describeArguments(args, false));
+        assertEquals("[Ana Pérez, 42, null]", ExecutionTimeAspect.describeArguments(args, true));
+    }
+
+    @Test
+    void unannotatedBeansAreNotTimed() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PlainService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExecutionTimeAspect(methodTimings));
+        PlainService plain = factory.getProxy();
+
+        assertEquals(5, plain.untimed());
+        assertTrue(methodTimings.timings().isEmpty());
+    }
+}
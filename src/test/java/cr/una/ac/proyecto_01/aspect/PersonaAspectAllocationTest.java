@@ -0,0 +1,98 @@
+package cr.una.ac.proyecto_01.aspect;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.logging.AsyncLogWriter;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.metrics.RequestMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bytes asignados por petición en el hilo que ejecuta el advice, medidos con el contador
+// por hilo de la JVM (el mismo dato que reporta JMH con -prof gc)
+class PersonaAspectAllocationTest {
+
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final long MAX_BYTES_PER_CALL = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private LogSegmentStore store;
+    private AsyncLogWriter writer;
+    private PersonaAspect aspect;
+    private StubJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new LogSegmentStore(tempDir.resolve("segments").toString(), tempDir.resolve("log.json").toString(),
+                64 * 1024 * 1024, 60, 1024);
+        writer = new AsyncLogWriter(store, 65_536, 1024, 10, 0,
+                AsyncLogWriter.OverflowPolicy.DROP_NEWEST, new SimpleMeterRegistry());
+        writer.start();
+        aspect = new PersonaAspect(writer, new RequestMetrics(new SimpleMeterRegistry()));
+        joinPoint = new StubJoinPoint("getPersonas", "ok");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persona");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(200);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        writer.shutdown();
+        store.close();
+    }
+
+    @Test
+    void adviceDoesNotAllocatePerRequest() throws Throwable {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            aspect.logExecutionTime(joinPoint);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            aspect.logExecutionTime(joinPoint);
+        }
+        long bytesPerCall = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_CALLS;
+
+        assertTrue(bytesPerCall <= MAX_BYTES_PER_CALL, "Advice allocated " + bytesPerCall + " bytes per call");
+    }
+
+    @Test
+    void writerFormatsEpochTimestampLazily() throws Throwable {
+        aspect.logExecutionTime(joinPoint);
+        writer.shutdown();
+
+        List<LogEntry> logs = new ArrayList<>();
+        store.forEachEntry(logs::add);
+        assertEquals(1, logs.size());
+        LogEntry entry = logs.getFirst();
+        assertEquals("/api/persona", entry.getEndpoint());
+        assertEquals("INFO", entry.getLevel());
+        assertEquals(200, entry.getStatus());
+        assertNotNull(entry.getTimestamp());
+        assertTrue(LogSegmentStore.parseTimestamp(entry.getTimestamp()) > 0);
+    }
+}
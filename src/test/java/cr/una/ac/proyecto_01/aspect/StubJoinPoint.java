@@ -0,0 +1,103 @@
+package cr.una.ac.proyecto_01.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+
+// Join point mínimo para invocar el advice sin proxies de Spring ni mocks (que registran
+// cada llamada y distorsionarían la medición). Lo usan los benchmarks y las pruebas de asignación
+public final class StubJoinPoint implements ProceedingJoinPoint, Signature {
+
+    private final String name;
+    private final Object result;
+
+    public StubJoinPoint(String name, Object result) {
+        this.name = name;
+        this.result = result;
+    }
+
+    @Override
+    public Object proceed() {
+        return result;
+    }
+
+    @Override
+    public Object proceed(Object[] args) {
+        return result;
+    }
+
+    @Override
+    public void set$AroundClosure(AroundClosure arc) {
+    }
+
+    @Override
+    public String toShortString() {
+        return name;
+    }
+
+    @Override
+    public String toLongString() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    @Override
+    public Object getThis() {
+        return null;
+    }
+
+    @Override
+    public Object getTarget() {
+        return null;
+    }
+
+    @Override
+    public Object[] getArgs() {
+        return new Object[0];
+    }
+
+    @Override
+    public Signature getSignature() {
+        return this;
+    }
+
+    @Override
+    public SourceLocation getSourceLocation() {
+        return null;
+    }
+
+    @Override
+    public String getKind() {
+        return METHOD_EXECUTION;
+    }
+
+    @Override
+    public StaticPart getStaticPart() {
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getModifiers() {
+        return 0;
+    }
+
+    @Override
+    public Class getDeclaringType() {
+        return Object.class;
+    }
+
+    @Override
+    public String getDeclaringTypeName() {
+        return Object.class.getName();
+    }
+}
@@ -0,0 +1,155 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogSegmentStore newStore() throws Exception {
+        return new LogSegmentStore(tempDir.resolve("segments").toString(), tempDir.resolve("log.json").toString(),
+                64 * 1024 * 1024, 60, 1024);
+    }
+
+    private AsyncLogWriter newWriter(LogSegmentStore store, int capacity, AsyncLogWriter.OverflowPolicy policy) {
+        return new AsyncLogWriter(store, capacity, 64, 10, 50, policy, new SimpleMeterRegistry());
+    }
+
+    private LogEntry entry(int i) {
+        return new LogEntry("/api/persona", "GET", "INFO", i, "test", "Request processed",
+                Instant.now().toString(), 200, null);
+    }
+
+    private List<LogEntry> readAll(LogSegmentStore store) {
+        List<LogEntry> logs = new ArrayList<>();
+        store.forEachEntry(logs::add);
+        return logs;
+    }
+
+    @Test
+    void concurrentWritersDoNotLoseEntries() throws Exception {
+        LogSegmentStore store = newStore();
+        AsyncLogWriter writer = newWriter(store, 100_000, AsyncLogWriter.OverflowPolicy.BLOCK);
+        writer.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    writer.offer(entry(i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.shutdown();
+
+        assertEquals(8_000, readAll(store).size());
+        assertEquals(8_000, writer.getWrittenCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void dropsNewestWhenQueueIsFull() throws Exception {
+        LogSegmentStore store = newStore();
+        AsyncLogWriter writer = newWriter(store, 10, AsyncLogWriter.OverflowPolicy.DROP_NEWEST);
+        writer.start();
+        int accepted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (writer.offer(entry(i))) {
+                accepted++;
+            }
+        }
+        writer.shutdown();
+
+        assertEquals(1_000, accepted + writer.getDroppedCount());
+        assertEquals(accepted, writer.getWrittenCount());
+        assertEquals(accepted, readAll(store).size());
+        assertFalse(writer.offer(entry(0)));
+    }
+
+    @Test
+    void dropOldestGivesUpWhenTheOldestEntryIsNotPublishedYet() throws Exception {
+        LogSegmentStore store = newStore();
+        AsyncLogWriter writer = newWriter(store, 2, AsyncLogWriter.OverflowPolicy.DROP_OLDEST);
+        writer.start();
+
+        // El productor lento reserva la posición más antigua y se queda copiando sus campos
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        LogEntry slow = new LogEntry("/api/persona", "GET", "INFO", 0, "slow", "Request processed",
+                Instant.now().toString(), 200, null) {
+            @Override
+            public String getEndpoint() {
+                reserved.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getEndpoint();
+            }
+        };
+        Thread producer = new Thread(() -> writer.offer(slow));
+        producer.start();
+        assertTrue(reserved.await(10, TimeUnit.SECONDS));
+        assertTrue(writer.offer(entry(1)));
+
+        // Cola llena y la más antigua sin publicar: antes giraba hasta que el productor lento terminara
+        boolean accepted = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> writer.offer(entry(2)));
+        assertFalse(accepted);
+        assertEquals(1, writer.getDroppedCount());
+
+        resume.countDown();
+        producer.join();
+        writer.shutdown();
+        assertEquals(2, writer.getWrittenCount());
+        assertEquals(2, readAll(store).size());
+    }
+
+    @Test
+    void entryWithoutTimestampGetsTheEnqueueTimeNotTheSlotsPreviousOne() throws Exception {
+        LogSegmentStore store = newStore();
+        AsyncLogWriter writer = newWriter(store, 2, AsyncLogWriter.OverflowPolicy.BLOCK);
+        writer.start();
+        long old = Instant.parse("2024-09-24T00:00:00Z").toEpochMilli();
+        // Las dos primeras ocupan los dos lugares del buffer; la tercera reusa el primero
+        for (int i = 0; i < 2; i++) {
+            assertTrue(writer.offer("/api/persona", "GET", "INFO", i, "test", "Request processed", old, 200, null));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writer.getWrittenCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        long before = System.currentTimeMillis();
+        assertTrue(writer.offer(new LogEntry("/api/persona", "GET", "INFO", 2, "test", "Request processed", null, 200, null)));
+        writer.shutdown();
+        long after = System.currentTimeMillis();
+
+        List<LogEntry> logs = readAll(store);
+        assertEquals(3, logs.size());
+        long timestamp = Instant.parse(logs.get(2).getTimestamp()).toEpochMilli();
+        assertTrue(timestamp >= before && timestamp <= after, logs.get(2).getTimestamp());
+    }
+}
@@ -0,0 +1,198 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogArchiveTest {
+
+    private static final int ENTRIES = 20_000;
+    private static final long START = Instant.parse("2024-09-24T00:00:00Z").toEpochMilli();
+    private static final long DAY = 86_400_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private LogSegmentStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = newStore();
+        String[] endpoints = {"/api/persona", "/api/persona/{id}", "/api/persona/bulk", "/api/logs/all"};
+        String[] methods = {"GET", "POST", "PUT", "DELETE"};
+        List<LogEntry> batch = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            int status = i % 17 == 0 ? 500 : i % 5 == 0 ? 404 : 200;
+            batch.add(new LogEntry(endpoints[i % endpoints.length], methods[(i / 3) % methods.length],
+                    status >= 400 ? "ERROR" : "INFO", (i * 7919L) % 1500, "tomcat-handler-" + (i % 8),
+                    status >= 400 ? "Error occurred" : "Request processed",
+                    Instant.ofEpochMilli(START + i * 2_000L).toString(), status, status >= 400 ? "HTTP " + status : null));
+        }
+        // Un solo lote queda entero en el primer segmento; la escritura siguiente lo rota y lo sella
+        store.append(batch);
+        store.append(List.of(new LogEntry("/api/persona", "GET", "INFO", 1, "t", "Request processed",
+                Instant.ofEpochMilli(START + 10 * DAY).toString(), 200, null)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    private LogSegmentStore newStore() throws Exception {
+        return new LogSegmentStore(tempDir.resolve("segments").toString(), tempDir.resolve("log.json").toString(),
+                1024, 60, 1024);
+    }
+
+    private static List<String> collect(LogSegmentStore store, long segmentId, long start, long limit) throws Exception {
+        List<String> entries = new ArrayList<>();
+        store.read(segmentId, start, limit, LogField.ALL, (entry, entryStart, entryEnd) ->
+                entries.add(entryStart + "-" + entryEnd + " " + entry));
+        return entries;
+    }
+
+    @Test
+    void archivedSegmentReadsBackTheSameEntriesAndOffsets() throws Exception {
+        LogSegment segment = store.segments().getFirst();
+        long ndjsonBytes = Files.size(store.dataPath(segment.getId()));
+        long middle = segment.getOffsets().get(7).getOffset();
+        List<String> all = collect(store, segment.getId(), 0, segment.getSizeBytes());
+        List<String> tail = collect(store, segment.getId(), middle, segment.getSizeBytes());
+
+        assertTrue(store.archive(segment.getId(), new LogArchive(4096)));
+
+        assertFalse(Files.exists(store.dataPath(segment.getId())));
+        assertEquals(all, collect(store, segment.getId(), 0, segment.getSizeBytes()));
+        assertEquals(tail, collect(store, segment.getId(), middle, segment.getSizeBytes()));
+        long archivedBytes = Files.size(store.archivePath(segment.getId()));
+        assertTrue(ndjsonBytes >= 10 * archivedBytes, ndjsonBytes + " -> " + archivedBytes);
+
+        // Sigue archivado al reabrir y el ingester lo lee como antes
+        store.close();
+        store = newStore();
+        assertTrue(store.segments().getFirst().isArchived());
+        assertEquals(all, collect(store, segment.getId(), 0, segment.getSizeBytes()));
+        LogIngester ingester = new LogIngester(store, 500);
+        assertEquals(ENTRIES + 1, ingester.poll());
+    }
+
+    @Test
+    void timeRangeReadsOnlyDecompressTheBlocksThatOverlap() throws Exception {
+        LogSegment segment = store.segments().getFirst();
+        store.archive(segment.getId(), new LogArchive(1000));
+        List<LogArchive.Block> blocks = new LogArchive(1000).blocks(store.archivePath(segment.getId()));
+        assertEquals(ENTRIES / 1000, blocks.size());
+
+        long from = START + 5_000 * 2_000L;
+        long to = START + 5_099 * 2_000L;
+        List<LogEntry> range = new ArrayList<>();
+        store.forEachEntry(from, to, EnumSet.of(LogField.STATUS, LogField.TIMESTAMP), range::add);
+        assertEquals(100, range.size());
+        assertEquals(Instant.ofEpochMilli(from).toString(), range.getFirst().getTimestamp());
+        assertNull(range.getFirst().getEndpoint());
+
+        long touched = blocks.stream().filter(block -> block.minTimestamp() <= to && block.maxTimestamp() >= from).count();
+        assertEquals(1, touched);
+    }
+
+    @Test
+    void archiverArchivesAgedSegmentsAndDeletesPastRetention() throws Exception {
+        LogArchiver archiver = new LogArchiver(store, 24, 4096, 30);
+        LogSegment segment = store.segments().getFirst();
+
+        assertEquals(0, archiver.maintain(START + DAY / 2));
+        assertEquals(1, archiver.maintain(START + 2 * DAY));
+        assertTrue(store.segments().getFirst().isArchived());
+
+        archiver.maintain(START + 40 * DAY);
+        assertEquals(1, store.segments().size());
+        assertFalse(Files.exists(store.archivePath(segment.getId())));
+        assertFalse(Files.exists(store.indexPath(segment.getId())));
+    }
+
+    @Test
+    void readsWhileArchivingAndDeletingSeeEachSegmentWholeOrGone() throws Exception {
+        int segmentCount = 200;
+        int perSegment = 20;
+        LogSegmentStore concurrent = new LogSegmentStore(tempDir.resolve("concurrent").toString(),
+                tempDir.resolve("concurrent.json").toString(), 1024, 60, 1024);
+        try {
+            // Cada lote pasa los 1024 bytes, así que el siguiente abre un segmento nuevo
+            for (int batch = 0; batch <= segmentCount; batch++) {
+                List<LogEntry> entries = new ArrayList<>();
+                for (int i = 0; i < perSegment; i++) {
+                    entries.add(new LogEntry("/api/persona", "GET", "INFO", i, "t", "Request processed",
+                            Instant.ofEpochMilli(START + (batch * perSegment + i) * 1_000L).toString(), 200, null));
+                }
+                concurrent.append(entries);
+            }
+            List<LogSegment> sealed = concurrent.segments().subList(0, segmentCount);
+
+            // false mientras se archiva (toda lectura debe ver el segmento entero), true al empezar a borrar
+            AtomicBoolean deleting = new AtomicBoolean();
+            AtomicBoolean done = new AtomicBoolean();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Integer>> readers = new ArrayList<>();
+                for (int thread = 0; thread < 3; thread++) {
+                    readers.add(executor.submit(() -> {
+                        int reads = 0;
+                        while (!done.get()) {
+                            for (LogSegment segment : sealed) {
+                                boolean mayBeGone = deleting.get();
+                                int read = concurrent.read(segment.getId(), 0, segment.getSizeBytes(), LogField.ALL,
+                                        (entry, start, end) -> { });
+                                assertTrue(read == perSegment || (mayBeGone && read == 0),
+                                        "segment " + segment.getId() + " read " + read + " entries");
+                                reads++;
+                            }
+                        }
+                        return reads;
+                    }));
+                }
+                Future<?> maintenance = executor.submit(() -> {
+                    try {
+                        for (LogSegment segment : sealed) {
+                            assertTrue(concurrent.archive(segment.getId(), new LogArchive(8)));
+                        }
+                        deleting.set(true);
+                        for (LogSegment segment : sealed) {
+                            assertTrue(concurrent.delete(segment.getId()));
+                        }
+                    } finally {
+                        done.set(true);
+                    }
+                    return null;
+                });
+                maintenance.get(60, TimeUnit.SECONDS);
+                for (Future<Integer> reader : readers) {
+                    assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, concurrent.segments().size());
+        } finally {
+            concurrent.close();
+        }
+    }
+}
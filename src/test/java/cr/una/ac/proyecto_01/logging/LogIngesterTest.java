@@ -0,0 +1,46 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogIngesterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogEntry entry(long responseTimeMs) {
+        return new LogEntry("/api/persona", "GET", "INFO", responseTimeMs, "test", "Request processed",
+                Instant.now().toString(), 200, null);
+    }
+
+    @Test
+    void picksUpOnlyNewlyAppendedEntriesAcrossRotations() throws Exception {
+        LogSegmentStore store = new LogSegmentStore(tempDir.resolve("segments").toString(),
+                tempDir.resolve("log.json").toString(), 512, 60, 16);
+        LogIngester ingester = new LogIngester(store, 500);
+        List<LogEntry> received = new ArrayList<>();
+        ingester.addListener(received::add);
+
+        store.append(List.of(entry(1), entry(2)));
+        assertEquals(2, ingester.poll());
+        assertEquals(0, ingester.poll());
+
+        for (int i = 3; i <= 20; i++) {
+            store.append(List.of(entry(i)));
+        }
+        assertEquals(18, ingester.poll());
+
+        assertEquals(20, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i + 1, received.get(i).getResponseTimeMs());
+        }
+    }
+}
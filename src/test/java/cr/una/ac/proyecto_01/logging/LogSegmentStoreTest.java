@@ -0,0 +1,80 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogSegmentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogSegmentStore newStore(long maxBytes) throws Exception {
+        return new LogSegmentStore(tempDir.resolve("segments").toString(), tempDir.resolve("log.json").toString(),
+                maxBytes, 60, 4);
+    }
+
+    private LogEntry entry(long epochMillis) {
+        return new LogEntry("/api/persona", "GET", "INFO", 5, "test", "Request processed",
+                Instant.ofEpochMilli(epochMillis).toString(), 200, null);
+    }
+
+    @Test
+    void rotatesBySizeAndSkipsSegmentsOutsideTimeRange() throws Exception {
+        LogSegmentStore store = newStore(1024);
+        for (int i = 0; i < 100; i++) {
+            store.append(List.of(entry(i * 1_000L)));
+        }
+
+        List<LogSegment> segments = store.segments();
+        assertTrue(segments.size() > 1);
+        assertEquals(100, segments.stream().mapToLong(LogSegment::getEntryCount).sum());
+        assertTrue(segments.getFirst().isSealed());
+        assertTrue(Files.exists(store.indexPath(segments.getFirst().getId())));
+
+        List<LogEntry> range = new ArrayList<>();
+        store.forEachEntry(10_000, 19_000, range::add);
+        assertEquals(10, range.size());
+    }
+
+    @Test
+    void recoversActiveSegmentAndDropsPartialLine() throws Exception {
+        LogSegmentStore store = newStore(64 * 1024 * 1024);
+        store.append(List.of(entry(1_000), entry(2_000)));
+        store.close();
+        Files.writeString(store.dataPath(1), "{\"endpoint\":\"/api/pers", StandardOpenOption.APPEND);
+
+        LogSegmentStore reopened = newStore(64 * 1024 * 1024);
+        reopened.append(List.of(entry(3_000)));
+
+        List<LogEntry> logs = new ArrayList<>();
+        reopened.forEachEntry(logs::add);
+        assertEquals(3, logs.size());
+        assertEquals(1_000, reopened.segments().getFirst().getMinTimestamp());
+        assertEquals(3_000, reopened.segments().getFirst().getMaxTimestamp());
+    }
+
+    @Test
+    void importsLegacyJsonArrayOnce() throws Exception {
+        Files.writeString(tempDir.resolve("log.json"), "[\n" +
+                "{\"endpoint\":\"/api/persona\",\"method\":\"GET\",\"level\":\"INFO\",\"responseTimeMs\":3," +
+                "\"thread\":\"t\",\"message\":\"Request processed\",\"timestamp\":\"2024-09-24T02:56:34.680931900Z\"," +
+                "\"status\":200,\"errorMessage\":null}\n]");
+        newStore(1024).close();
+        LogSegmentStore reopened = newStore(1024);
+
+        List<LogEntry> logs = new ArrayList<>();
+        reopened.forEachEntry(logs::add);
+        assertEquals(1, logs.size());
+    }
+}
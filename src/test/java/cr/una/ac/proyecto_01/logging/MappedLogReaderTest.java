@@ -0,0 +1,89 @@
+package cr.una.ac.proyecto_01.logging;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MappedLogReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String line(int i) {
+        return "{\"endpoint\":\"/api/persona/" + i + "\",\"method\":\"GET\",\"level\":\"INFO\",\"responseTimeMs\":" + i +
+                ",\"thread\":\"t\",\"message\":\"Request processed\",\"timestamp\":\"2024-09-24T02:56:34Z\"," +
+                "\"status\":200,\"errorMessage\":null}";
+    }
+
+    @Test
+    void readsEntriesSplitAcrossSmallWindowsWithTheirOffsets() throws Exception {
+        StringBuilder content = new StringBuilder();
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String line = line(i);
+            expected.add(new long[]{content.length(), content.length() + line.length()});
+            content.append(line).append('\n');
+        }
+        Path file = Files.writeString(tempDir.resolve("segment.ndjson"), content);
+
+        // Ventanas de 37 bytes: casi todas las entradas quedan partidas entre dos ventanas
+        MappedLogReader reader = new MappedLogReader(37);
+        List<long[]> offsets = new ArrayList<>();
+        List<Long> responseTimes = new ArrayList<>();
+        int count = reader.read(file, 0, Files.size(file), LogField.ALL, (entry, start, end) -> {
+            offsets.add(new long[]{start, end});
+            responseTimes.add(entry.getResponseTimeMs());
+        });
+
+        assertEquals(50, count);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, responseTimes.get(i));
+            assertEquals(expected.get(i)[0], offsets.get(i)[0]);
+            assertEquals(expected.get(i)[1], offsets.get(i)[1]);
+        }
+
+        // Desde la mitad del archivo los offsets siguen siendo absolutos
+        List<Long> tail = new ArrayList<>();
+        reader.read(file, expected.get(40)[0], Files.size(file), LogField.ALL, (entry, start, end) -> tail.add(start));
+        assertEquals(10, tail.size());
+        assertEquals(expected.get(40)[0], tail.getFirst());
+    }
+
+    @Test
+    void decodesOnlyRequestedFields() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("segment.ndjson"), line(7) + "\n");
+
+        List<LogEntry> entries = new ArrayList<>();
+        new MappedLogReader(MappedLogReader.DEFAULT_WINDOW_BYTES).read(file, 0, Files.size(file),
+                EnumSet.of(LogField.STATUS, LogField.RESPONSE_TIME), (entry, start, end) -> entries.add(entry));
+
+        assertEquals(1, entries.size());
+        assertEquals(200, entries.getFirst().getStatus());
+        assertEquals(7, entries.getFirst().getResponseTimeMs());
+        assertNull(entries.getFirst().getEndpoint());
+        assertNull(entries.getFirst().getTimestamp());
+    }
+
+    @Test
+    void readsLegacyJsonArrayAndFindsLastCompleteLine() throws Exception {
+        Path legacy = Files.writeString(tempDir.resolve("log.json"), "[\n" + line(1) + ",\n" + line(2) + "\n]",
+                StandardCharsets.UTF_8);
+        MappedLogReader reader = new MappedLogReader(16);
+        List<String> endpoints = new ArrayList<>();
+        reader.read(legacy, 0, Files.size(legacy), LogField.ALL, (entry, start, end) -> endpoints.add(entry.getEndpoint()));
+        assertEquals(List.of("/api/persona/1", "/api/persona/2"), endpoints);
+
+        Path torn = Files.writeString(tempDir.resolve("torn.ndjson"), line(1) + "\n{\"endpoint\":\"/api/pers");
+        assertEquals(line(1).length() + 1, reader.lastLineEnd(torn));
+    }
+}
@@ -0,0 +1,69 @@
+package cr.una.ac.proyecto_01.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestMetricsTest {
+
+    @Test
+    void recordsOneSeriesPerEndpointMethodAndStatus() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestMetrics metrics = new RequestMetrics(registry);
+
+        for (int i = 1; i <= 100; i++) {
+            metrics.record("/api/persona/{id}", "GET", 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        metrics.record("/api/persona/{id}", "GET", 404, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.record("/api/persona", "POST", 200, TimeUnit.MILLISECONDS.toNanos(7));
+
+        List<RequestMetrics.Series> series = metrics.series();
+        assertEquals(3, series.size());
+        RequestMetrics.Series ok = series.get(1);
+        assertEquals("/api/persona/{id}", ok.getEndpoint());
+        assertEquals(200, ok.getStatus());
+        assertEquals(100, ok.getCount());
+        // Error relativo del histograma < 1.6%
+        assertEquals(50_000, ok.percentileMicros(50), 50_000 * 0.016);
+        assertEquals(99_000, ok.percentileMicros(99), 99_000 * 0.016);
+        assertEquals(100_000, ok.getMaxMicros());
+        assertTrue(series.get(2).isError());
+
+        FunctionTimer timer = registry.find(RequestMetrics.REQUESTS_METRIC)
+                .tags("endpoint", "/api/persona/{id}", "status", "200").functionTimer();
+        assertNotNull(timer);
+        assertEquals(100, timer.count());
+        assertEquals(5050, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        Gauge p99 = registry.find(RequestMetrics.LATENCY_METRIC)
+                .tags("endpoint", "/api/persona/{id}", "status", "200", "quantile", "0.99").gauge();
+        assertNotNull(p99);
+        assertEquals(0.099, p99.value(), 0.099 * 0.016);
+    }
+
+    @Test
+    void endpointSummarizesErrorRate() {
+        RequestMetrics metrics = new RequestMetrics(new SimpleMeterRegistry());
+        metrics.record("/api/persona/{id}", "GET", 200, 1_000_000);
+        metrics.record("/api/persona/{id}", "GET", 200, 1_000_000);
+        metrics.record("/api/persona/{id}", "GET", 200, 1_000_000);
+        metrics.record("/api/persona/{id}", "GET", 404, 1_000_000);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> endpoints =
+                (List<Map<String, Object>>) new RequestMetricsEndpoint(metrics).requests().get("endpoints");
+
+        assertEquals(1, endpoints.size());
+        assertEquals(4L, endpoints.getFirst().get("count"));
+        assertEquals(0.25, (double) endpoints.getFirst().get("errorRate"), 1e-9);
+    }
+}
@@ -0,0 +1,101 @@
+package cr.una.ac.proyecto_01.report;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.entity.LogQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarLogStoreTest {
+
+    @Test
+    void roundTripsEntriesAcrossChunks() {
+        ColumnarLogStore store = new ColumnarLogStore();
+        int rows = ColumnarLogStore.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < rows; i++) {
+            boolean error = i % 10 == 0;
+            store.append(new LogEntry(i % 2 == 0 ? "/api/persona" : "/api/persona/{id}", "GET",
+                    error ? "ERROR" : "INFO", i, "http-nio-8080-exec-" + (i % 4),
+                    error ? "Error occurred" : "Request processed", null, error ? 404 : 200,
+                    error ? "Not Found" : null), 1_000L + i);
+        }
+
+        assertEquals(rows, store.size());
+        assertEquals(3, ColumnarLogStore.chunkCount(store.size()));
+        assertEquals(10, ColumnarLogStore.chunkLength(2, store.size()));
+        assertEquals(2, store.endpoints().size());
+        assertEquals(4, store.threads().size());
+
+        int row = ColumnarLogStore.CHUNK_SIZE + 4;
+        LogEntry entry = store.entryAt(row);
+        assertEquals("/api/persona", entry.getEndpoint());
+        assertEquals(row, entry.getResponseTimeMs());
+        assertEquals(404, entry.getStatus());
+        assertEquals("Not Found", entry.getErrorMessage());
+        assertEquals(Instant.ofEpochMilli(1_000L + row).toString(), entry.getTimestamp());
+        assertNull(store.entryAt(row + 1).getErrorMessage());
+    }
+
+    @Test
+    void queryMatchesBruteForceFilterAcrossPages() {
+        ColumnarLogStore store = new ColumnarLogStore();
+        Random random = new Random(7);
+        String[] endpoints = {"/api/persona", "/api/persona/{id}", "/api/logs/all"};
+        String[] methods = {"GET", "POST", "DELETE"};
+        int[] statuses = {200, 200, 200, 404, 500, 503};
+        List<LogEntry> all = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int status = statuses[random.nextInt(statuses.length)];
+            LogEntry entry = new LogEntry(endpoints[random.nextInt(endpoints.length)], methods[random.nextInt(methods.length)],
+                    status >= 400 ? "ERROR" : "INFO", random.nextInt(500), "t", "m", null, status, null);
+            // Timestamps casi ordenados, como llegan desde varios hilos
+            long timestamp = i * 1_000L + random.nextInt(5_000);
+            all.add(entry);
+            timestamps.add(timestamp);
+            store.append(entry, timestamp);
+        }
+
+        LogQuery query = LogQuery.builder()
+                .from(Instant.ofEpochMilli(3_000_000))
+                .to(Instant.ofEpochMilli(9_000_000))
+                .endpoint("/api/persona")
+                .minStatus(500)
+                .maxStatus(599)
+                .minResponseTimeMs(100L)
+                .build();
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            LogEntry entry = all.get(i);
+            long timestamp = timestamps.get(i);
+            if (timestamp >= 3_000_000 && timestamp <= 9_000_000 && entry.getEndpoint().equals("/api/persona")
+                    && entry.getStatus() >= 500 && entry.getResponseTimeMs() >= 100) {
+                expected.add(entry.getResponseTimeMs());
+            }
+        }
+
+        List<Long> actual = new ArrayList<>();
+        int cursor = 0;
+        int pages = 0;
+        while (cursor >= 0) {
+            List<LogEntry> page = new ArrayList<>();
+            cursor = store.query(query, cursor, 50, page);
+            page.forEach(entry -> actual.add(entry.getResponseTimeMs()));
+            pages++;
+        }
+        assertEquals(expected, actual);
+        assertEquals((expected.size() + 49) / 50, pages);
+
+        List<LogEntry> none = new ArrayList<>();
+        assertEquals(-1, store.query(LogQuery.builder().endpoint("/missing").build(), 0, 10, none));
+        assertTrue(none.isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package cr.una.ac.proyecto_01.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CriticalEventClassifierTest {
+
+    @Test
+    void serverErrorsAreCriticalWhateverTheMessage() {
+        CriticalEventClassifier classifier = new CriticalEventClassifier(List.of("critical"), 500);
+
+        assertTrue(classifier.isCritical(500, "Request processed"));
+        assertTrue(classifier.isCritical(503, null));
+        assertFalse(classifier.isCritical(404, "Not found"));
+    }
+
+    @Test
+    void messagesMatchAnyPatternIgnoringCase() {
+        CriticalEventClassifier classifier = new CriticalEventClassifier(List.of("Critical", " disk full ", "OOM"), 500);
+
+        assertTrue(classifier.matches("CRITICAL failure in payment"));
+        assertTrue(classifier.matches("node-3: Disk Full"));
+        assertTrue(classifier.matches("killed by oom"));
+        assertFalse(classifier.matches("critica"));
+        assertFalse(classifier.matches("disk is full"));
+        assertFalse(classifier.matches(""));
+        assertFalse(classifier.matches(null));
+    }
+
+    @Test
+    void overlappingPatternsAreFoundThroughFailureLinks() {
+        CriticalEventClassifier classifier = new CriticalEventClassifier(List.of("he", "she", "hers", "his"), 1000);
+
+        assertTrue(classifier.matches("ushers"));
+        assertTrue(classifier.matches("xxhixhis"));
+        assertTrue(classifier.matches("ssshe"));
+        assertFalse(classifier.matches("hxsxrs"));
+        assertFalse(classifier.isCritical(999, "nothing to see"));
+    }
+
+    @Test
+    void emptyPatternsOnlyUseTheStatus() {
+        CriticalEventClassifier classifier = new CriticalEventClassifier(List.of(" ", ""), 500);
+
+        assertFalse(classifier.matches("critical"));
+        assertTrue(classifier.isCritical(500, "ok"));
+    }
+
+    @Test
+    void classifyingDoesNotAllocate() {
+        CriticalEventClassifier classifier = new CriticalEventClassifier(List.of("critical", "fatal", "timeout"), 500);
+        String[] messages = {"Request processed", "Connection TIMEOUT to db", "all good", "Fatal: out of memory"};
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        int matches = 0;
+        for (int i = 0; i < 100_000; i++) {
+            matches += classifier.isCritical(200, messages[i & 3]) ? 1 : 0;
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            matches += classifier.isCritical(200, messages[i & 3]) ? 1 : 0;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(100_000, matches);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,78 @@
+package cr.una.ac.proyecto_01.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguous() {
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.highestValueInBucket(index));
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.highestValueInBucket(index - 1));
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void exactBelowOneHundredTwentyEight() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(50, histogram.valueAtPercentile(50));
+        assertEquals(90, histogram.valueAtPercentile(90));
+        assertEquals(100, histogram.valueAtPercentile(100));
+        assertEquals(50.5, histogram.getMean());
+    }
+
+    @Test
+    void percentilesStayWithinRelativeErrorAndMergeMatchesSingleHistogram() {
+        Random random = new Random(42);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 2 + 4);
+            all.record(values[i]);
+            (i % 2 == 0 ? first : second).record(values[i]);
+        }
+        first.merge(second);
+        Arrays.sort(values);
+
+        for (double percentile : LatencyHistogram.REPORTED_PERCENTILES) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = all.valueAtPercentile(percentile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.016 + 1, percentile + ": " + exact + " vs " + estimate);
+            assertEquals(estimate, first.valueAtPercentile(percentile));
+        }
+        assertEquals(all.getTotalCount(), first.getTotalCount());
+        assertEquals(all.getMax(), first.getMax());
+    }
+
+    @Test
+    void coordinatedOmissionCorrectionFillsTheRequestsAStallHid() {
+        // Un cliente que pide cada 10: 99 respuestas de 10 y una pausa de 1000 que tapó otros 99 pedidos
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10, 99);
+        histogram.record(1000);
+
+        LatencyHistogram corrected = histogram.copyCorrectedForCoordinatedOmission(10);
+
+        assertEquals(10, histogram.valueAtPercentile(99));
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(199, corrected.getTotalCount());
+        assertEquals(1000, corrected.getMax());
+        assertTrue(corrected.valueAtPercentile(75) >= 490, String.valueOf(corrected.valueAtPercentile(75)));
+        assertEquals(histogram.getTotalCount(), histogram.copyCorrectedForCoordinatedOmission(0).getTotalCount());
+    }
+}
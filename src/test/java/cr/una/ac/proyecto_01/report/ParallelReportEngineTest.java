@@ -0,0 +1,77 @@
+package cr.una.ac.proyecto_01.report;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelReportEngineTest {
+
+    private static final int ROWS = 100_000;
+
+    private final ColumnarLogStore store = new ColumnarLogStore();
+    private ParallelReportEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ParallelReportEngine(4);
+        String[] endpoints = {"/api/persona", "/api/persona/{id}", "/api/logs/all"};
+        for (int row = 0; row < ROWS; row++) {
+            int status = row % 10 == 0 ? 500 : row % 7 == 0 ? 404 : 200;
+            LogEntry entry = new LogEntry(endpoints[row % endpoints.length], row % 2 == 0 ? "GET" : "POST",
+                    status >= 400 ? "ERROR" : "INFO", row % 1000, "test", "Request processed", null, status,
+                    status >= 400 ? "HTTP " + status : null);
+            store.append(entry, row * 1_000L);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void parallelAggregateMatchesSequentialRecord() {
+        long from = 10_500_000L;
+        long to = 77_000_000L;
+        ReportAggregates expected = new ReportAggregates();
+        for (int row = 0; row < ROWS; row++) {
+            long timestamp = store.timestamp(row);
+            if (timestamp >= from && timestamp <= to) {
+                expected.record(store.entryAt(row), timestamp);
+            }
+        }
+
+        ReportAggregates actual = engine.aggregate(store, from, to);
+
+        assertEquals(expected.getTotalRequests(), actual.getTotalRequests());
+        assertEquals(expected.getTotalErrors(), actual.getTotalErrors());
+        assertEquals(expected.getAverageResponseTime(), actual.getAverageResponseTime());
+        assertEquals(expected.getRequestsByStatus(), actual.getRequestsByStatus());
+        assertEquals(expected.getErrorsByMessage(), actual.getErrorsByMessage());
+        assertEquals(expected.getErrorsByHour(), actual.getErrorsByHour());
+        assertEquals(expected.getUsageByEndpointAndMethod(), actual.getUsageByEndpointAndMethod());
+        assertEquals(expected.getResponseTimes().percentiles(), actual.getResponseTimes().percentiles());
+        assertEquals(expected.getPercentilesByEndpoint(), actual.getPercentilesByEndpoint());
+    }
+
+    @Test
+    void matchingRowsAreReturnedInOrder() {
+        List<Integer> expected = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            if (store.status(row) >= 500 && store.timestamp(row) <= 50_000_000L) {
+                expected.add(row);
+            }
+        }
+
+        int[] rows = engine.matchingRows(store, Long.MIN_VALUE, 50_000_000L, (chunk, i) -> chunk.statuses[i] >= 500);
+
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), rows);
+    }
+}
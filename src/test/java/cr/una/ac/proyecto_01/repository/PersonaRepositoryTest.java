@@ -0,0 +1,66 @@
+package cr.una.ac.proyecto_01.repository;
+
+import cr.una.ac.proyecto_01.entity.Persona;
+import cr.una.ac.proyecto_01.entity.PersonaResumen;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class PersonaRepositoryTest {
+
+    @Autowired
+    PersonaRepository personaRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            Persona persona = new Persona();
+            persona.setNombre("Persona " + i);
+            persona.setEdad(20 + i);
+            ids.add(personaRepository.save(persona).getId());
+        }
+    }
+
+    @Test
+    void keysetPagesCoverEveryRowOnce() {
+        List<Long> seen = new ArrayList<>();
+        long after = 0;
+        List<Persona> page;
+        do {
+            page = personaRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(10), Persona.class);
+            page.forEach(persona -> seen.add(persona.getId()));
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == 10);
+
+        assertEquals(ids, seen);
+    }
+
+    @Test
+    void projectionReturnsIdAndNombre() {
+        List<PersonaResumen> page = personaRepository.findByIdGreaterThanOrderByIdAsc(ids.get(4), Limit.of(3), PersonaResumen.class);
+
+        assertEquals(3, page.size());
+        assertEquals(ids.get(5), page.getFirst().getId());
+        assertEquals("Persona 5", page.getFirst().getNombre());
+    }
+
+    @Test
+    void streamReadsRowsAfterTheGivenId() {
+        try (Stream<PersonaResumen> rows = personaRepository.streamByIdGreaterThanOrderByIdAsc(ids.get(19), PersonaResumen.class)) {
+            assertEquals(ids.subList(20, 25), rows.map(PersonaResumen::getId).toList());
+        }
+    }
+}
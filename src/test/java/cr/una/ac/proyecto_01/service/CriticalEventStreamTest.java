@@ -0,0 +1,33 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CriticalEventStreamTest {
+
+    @Test
+    void recentKeepsTheLastEventsInOrder() {
+        CriticalEventStream stream = new CriticalEventStream(List.of("critical"), 500, 4, 1000);
+        assertTrue(stream.recent().isEmpty());
+
+        LogEntry[] entries = new LogEntry[6];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new LogEntry("/api/persona", "GET", "ERROR", i, "test", "critical " + i, null, 500, null);
+            stream.publish(entries[i]);
+        }
+
+        List<CriticalEventStream.Event> recent = stream.recent();
+        assertEquals(4, recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            assertEquals(i + 2, recent.get(i).sequence());
+            assertSame(entries[i + 2], recent.get(i).entry());
+        }
+        stream.shutdown();
+    }
+}
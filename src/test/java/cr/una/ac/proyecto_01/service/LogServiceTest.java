@@ -0,0 +1,208 @@
+package cr.una.ac.proyecto_01.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import cr.una.ac.proyecto_01.report.LogRollups;
+import cr.una.ac.proyecto_01.report.ReportRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogService logService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LogSegmentStore store = new LogSegmentStore(tempDir.resolve("segments").toString(),
+                tempDir.resolve("log.json").toString(), 64 * 1024 * 1024, 60, 1024);
+        logService = new LogService(new LogIngester(store, 500), 24 * 365 * 10, 365 * 10);
+    }
+
+    private static LogEntry entry(String endpoint, String method, int status, long responseTimeMs, String timestamp) {
+        boolean error = status >= 400;
+        return new LogEntry(endpoint, method, error ? "ERROR" : "INFO", responseTimeMs, "test",
+                error ? "Error occurred" : "Request processed", timestamp, status, error ? "Not Found" : null);
+    }
+
+    @Test
+    void reportsAreEmptyWithoutLogs() {
+        assertTrue(logService.generateErrorReport().isEmpty());
+        assertTrue(logService.generateApplicationStatusReport().isEmpty());
+    }
+
+    @Test
+    void reportsAreAnsweredFromAggregates() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-24T02:10:00Z"));
+        logService.ingest(entry("/api/persona", "POST", 200, 30, "2024-09-24T02:20:00Z"));
+        logService.ingest(entry("/api/personat", "GET", 404, 2, "2024-09-24T14:00:00Z"));
+        logService.ingest(entry("/api/personat", "GET", 404, 4, "2024-09-24T14:30:00Z"));
+
+        Map<String, Object> errors = logService.generateErrorReport().orElseThrow();
+        assertEquals(Map.of("Not Found", 2L), errors.get("totalErrorsByType"));
+        assertEquals(Map.of(14, 2L), errors.get("errorPeakHours"));
+        assertEquals(14, errors.get("peakHour"));
+
+        Map<String, Object> responseTimes = logService.generateResponseTimeReport().orElseThrow();
+        assertEquals(2L, responseTimes.get("minResponseTime"));
+        assertEquals(30L, responseTimes.get("maxResponseTime"));
+        assertEquals(11.5, responseTimes.get("averageResponseTime"));
+
+        Map<String, Object> usage = logService.generateEndpointUsageReport().orElseThrow();
+        assertEquals(Map.of("GET", 1L, "POST", 1L),
+                ((Map<?, ?>) usage.get("usageByEndpointAndMethod")).get("/api/persona"));
+
+        Map<String, Object> status = logService.generateApplicationStatusReport().orElseThrow();
+        assertEquals(4L, status.get("totalRequests"));
+        assertEquals(2L, status.get("totalErrors"));
+        assertEquals(Map.of(200, 2L, 404, 2L), status.get("requestsByStatus"));
+    }
+
+    @Test
+    void criticalEventsIncludeServerErrorsAndCriticalMessages() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-24T02:10:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 500, 10, "2024-09-24T02:11:00Z"));
+        logService.ingest(new LogEntry("/api/persona", "GET", "WARN", 3, "test", "CRITICAL disk almost full",
+                "2024-09-24T02:12:00Z", 200, null));
+
+        Map<String, Object> report = logService.generateCriticalEventReport().orElseThrow();
+        assertEquals(2L, report.get("criticalEventCount"));
+        assertEquals(3, logService.logCount());
+    }
+
+    @Test
+    void writesLogsAsJsonArrayOrNdjson() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            logService.ingest(entry("/api/persona", "GET", 200, i, "2024-09-24T02:10:00Z"));
+        }
+
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        logService.writeLogs(1, 3, false, array);
+        List<LogEntry> entries = new ObjectMapper().readValue(array.toByteArray(), new TypeReference<List<LogEntry>>() {});
+        assertEquals(List.of(1L, 2L), entries.stream().map(LogEntry::getResponseTimeMs).toList());
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        logService.writeLogs(0, 3, true, ndjson);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(2, new ObjectMapper().readValue(lines[2], LogEntry.class).getResponseTimeMs());
+    }
+
+    @Test
+    void rangeReportsOnlyIncludeBucketsInsideTheRange() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-23T14:10:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 20, "2024-09-23T14:20:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 30, "2024-09-27T14:05:00Z"));
+
+        ReportRange monday = new ReportRange(Instant.parse("2024-09-23T14:00:00Z"),
+                Instant.parse("2024-09-23T15:00:00Z"), LogRollups.Granularity.MINUTE);
+        Map<String, Object> status = logService.generateApplicationStatusReport(monday).orElseThrow();
+        assertEquals(2L, status.get("totalRequests"));
+        assertEquals(1L, status.get("totalErrors"));
+        assertEquals(2, ((Map<?, ?>) status.get("timeline")).size());
+
+        ReportRange week = new ReportRange(Instant.parse("2024-09-23T00:00:00Z"),
+                Instant.parse("2024-09-28T00:00:00Z"), LogRollups.Granularity.DAY);
+        Map<String, Object> errors = logService.generateErrorReport(week).orElseThrow();
+        assertEquals(Map.of("Not Found", 2L), errors.get("totalErrorsByType"));
+
+        ReportRange empty = new ReportRange(Instant.parse("2024-10-01T00:00:00Z"), null, LogRollups.Granularity.HOUR);
+        assertTrue(logService.generateResponseTimeReport(empty).isEmpty());
+    }
+
+    @Test
+    void rangeWithoutGranularityIsRecomputedExactly() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-23T14:10:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 20, "2024-09-23T14:20:30Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 30, "2024-09-23T14:20:50Z"));
+
+        // El bucket de 14:20 entra completo con buckets por minuto, pero el rango termina a las 14:20:40
+        ReportRange range = new ReportRange(Instant.parse("2024-09-23T14:00:00Z"),
+                Instant.parse("2024-09-23T14:20:40Z"), null);
+        Map<String, Object> status = logService.generateApplicationStatusReport(range).orElseThrow();
+        assertEquals(2L, status.get("totalRequests"));
+        assertEquals(1L, status.get("totalErrors"));
+    }
+
+    @Test
+    void explicitGranularityKeepsTheRequestedBounds() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-23T14:05:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 20, "2024-09-23T14:15:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 404, 30, "2024-09-23T14:20:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 200, 40, "2024-09-23T14:40:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 200, 50, "2024-09-23T15:00:00Z"));
+
+        // Ni el bucket de 14:00 entero ni el que empieza justo en "to" (15:00) entran completos
+        ReportRange quarter = new ReportRange(Instant.parse("2024-09-23T14:10:00Z"),
+                Instant.parse("2024-09-23T14:20:00Z"), LogRollups.Granularity.HOUR);
+        Map<String, Object> status = logService.generateApplicationStatusReport(quarter).orElseThrow();
+        assertEquals(2L, status.get("totalRequests"));
+        assertEquals(2L, status.get("totalErrors"));
+        assertEquals(Map.of("2024-09-23T14:00:00Z", Map.of("requests", 2L, "errors", 2L)), status.get("timeline"));
+
+        ReportRange hours = new ReportRange(Instant.parse("2024-09-23T14:10:00Z"),
+                Instant.parse("2024-09-23T15:59:59.999Z"), LogRollups.Granularity.HOUR);
+        Map<String, Object> both = logService.generateApplicationStatusReport(hours).orElseThrow();
+        assertEquals(4L, both.get("totalRequests"));
+        assertEquals(Map.of("requests", 3L, "errors", 2L),
+                ((Map<?, ?>) both.get("timeline")).get("2024-09-23T14:00:00Z"));
+        assertEquals(Map.of("requests", 1L, "errors", 0L),
+                ((Map<?, ?>) both.get("timeline")).get("2024-09-23T15:00:00Z"));
+    }
+
+    @Test
+    void compactedGranularityFallsBackToTheNextCoarserOne() throws Exception {
+        LogSegmentStore store = new LogSegmentStore(tempDir.resolve("compacted").toString(),
+                tempDir.resolve("compacted.json").toString(), 64 * 1024 * 1024, 60, 1024);
+        LogService compacted = new LogService(new LogIngester(store, 500), 6, 365 * 10);
+        compacted.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-23T14:05:00Z"));
+        compacted.ingest(entry("/api/persona", "GET", 404, 20, "2024-09-23T14:35:00Z"));
+        compacted.compactRollups();
+
+        ReportRange hour = new ReportRange(Instant.parse("2024-09-23T14:00:00Z"),
+                Instant.parse("2024-09-23T14:59:59.999Z"), LogRollups.Granularity.MINUTE);
+        Map<String, Object> status = compacted.generateApplicationStatusReport(hour).orElseThrow();
+        assertEquals(2L, status.get("totalRequests"));
+        assertEquals(LogRollups.Granularity.HOUR, status.get("granularity"));
+        compacted.shutdown();
+    }
+
+    @Test
+    void allReportsComeFromOnePassAndAreCachedUntilNewEntries() {
+        logService.ingest(entry("/api/persona", "GET", 200, 10, "2024-09-24T02:10:00Z"));
+        logService.ingest(entry("/api/persona", "GET", 500, 20, "2024-09-24T02:11:00Z"));
+
+        Map<String, Object> all = logService.generateAllReports().orElseThrow();
+        assertEquals(List.of("errors", "responseTimes", "usage", "criticalEvents", "applicationStatus"),
+                List.copyOf(all.keySet()));
+        assertEquals(1L, ((Map<?, ?>) all.get("criticalEvents")).get("criticalEventCount"));
+        assertSame(all, logService.generateAllReports().orElseThrow());
+
+        Map<String, Object> status = logService.generateApplicationStatusReport().orElseThrow();
+        assertSame(status, logService.generateApplicationStatusReport().orElseThrow());
+
+        logService.ingest(entry("/api/persona", "GET", 200, 30, "2024-09-24T02:12:00Z"));
+        Map<String, Object> refreshed = logService.generateApplicationStatusReport().orElseThrow();
+        assertNotSame(status, refreshed);
+        assertEquals(3L, refreshed.get("totalRequests"));
+        assertEquals(3L, ((Map<?, ?>) logService.generateAllReports().orElseThrow().get("applicationStatus")).get("totalRequests"));
+    }
+}
@@ -0,0 +1,128 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.entity.BulkItemResult;
+import cr.una.ac.proyecto_01.entity.BulkResult;
+import cr.una.ac.proyecto_01.entity.Persona;
+import cr.una.ac.proyecto_01.repository.PersonaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cada chunk usa su propia transacción, así que la prueba no corre dentro de una
+@DataJpaTest
+@Import({PersonaService.class, PersonaBulkTest.CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PersonaBulkTest {
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(PersonaService.PERSONA_CACHE, PersonaService.PERSONAS_CACHE);
+        }
+    }
+
+    @Autowired
+    PersonaService personaService;
+
+    @Autowired
+    PersonaRepository personaRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private BulkResult bulk(PersonaService.BulkOperation operation, String body) throws IOException {
+        return personaService.bulk(operation, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void insertsUpdatesAndDeletesAcrossChunks() throws IOException {
+        personaRepository.deleteAllInBatch();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"nombre\":\"Persona ").append(i).append("\",\"edad\":").append(i % 90).append("}\n");
+        }
+
+        BulkResult inserted = bulk(PersonaService.BulkOperation.INSERT, ndjson.toString());
+        assertEquals(1200, inserted.getSucceeded());
+        assertEquals(1200, personaRepository.count());
+        inserted.getItems().forEach(item -> assertNotNull(item.getId()));
+
+        Long first = inserted.getItems().get(0).getId();
+        BulkResult updated = bulk(PersonaService.BulkOperation.UPDATE,
+                "[{\"id\":" + first + ",\"nombre\":\"Ana\",\"edad\":40},{\"id\":-1,\"nombre\":\"Nadie\"}]");
+        assertEquals(1, updated.getSucceeded());
+        assertEquals(404, updated.getItems().get(1).getStatus());
+        assertEquals("Ana", personaRepository.findById(first).orElseThrow().getNombre());
+
+        BulkResult deleted = bulk(PersonaService.BulkOperation.DELETE,
+                "[{\"id\":" + first + "},{\"id\":" + first + "},{}]");
+        assertEquals(List.of(200, 404, 400), deleted.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(1199, personaRepository.count());
+    }
+
+    @Test
+    void aFailingRowDoesNotRollBackTheRestOfItsChunk() throws IOException {
+        personaRepository.deleteAllInBatch();
+        String tooLong = "x".repeat(300);
+
+        BulkResult result = bulk(PersonaService.BulkOperation.INSERT,
+                "[{\"nombre\":\"Ana\"},{\"nombre\":\"" + tooLong + "\"},{\"id\":5,\"nombre\":\"Luis\"},{\"nombre\":\"Eva\"}]");
+
+        assertEquals(List.of(201, 500, 400, 201), result.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, personaRepository.count());
+    }
+
+    @Test
+    void malformedBodyAfterTheFirstChunkKeepsTheCommittedRowsAndEvictsTheCaches() throws IOException {
+        personaRepository.deleteAllInBatch();
+        List<Persona> personas = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Persona persona = new Persona();
+            persona.setNombre("Antes " + i);
+            personas.add(persona);
+        }
+        List<Long> ids = personaRepository.saveAll(personas).stream().map(Persona::getId).toList();
+        // Lo que quedaría en caché de lecturas anteriores a la carga
+        cacheManager.getCache(PersonaService.PERSONA_CACHE).put(ids.get(0), personas.get(0));
+        cacheManager.getCache(PersonaService.PERSONAS_CACHE).put("all", List.copyOf(personas));
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            ndjson.append("{\"id\":").append(ids.get(i)).append(",\"nombre\":\"Despues ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"id\":").append(ids.get(0)).append(",\"nombre\":\n");
+
+        BulkResult result = bulk(PersonaService.BulkOperation.UPDATE, ndjson.toString());
+
+        assertEquals(601, result.getTotal());
+        assertEquals(600, result.getSucceeded());
+        BulkItemResult error = result.getItems().get(600);
+        assertEquals(600, error.getIndex());
+        assertEquals(400, error.getStatus());
+        assertTrue(error.getError().startsWith("Malformed body"), error.getError());
+        assertEquals("Despues 0", personaRepository.findById(ids.get(0)).orElseThrow().getNombre());
+        assertEquals("Despues 599", personaRepository.findById(ids.get(599)).orElseThrow().getNombre());
+        assertNull(cacheManager.getCache(PersonaService.PERSONA_CACHE).get(ids.get(0)));
+        assertNull(cacheManager.getCache(PersonaService.PERSONAS_CACHE).get("all"));
+    }
+}
@@ -0,0 +1,118 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.entity.Persona;
+import cr.una.ac.proyecto_01.repository.PersonaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class PersonaServiceTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(PersonaService.PERSONA_CACHE, PersonaService.PERSONAS_CACHE);
+        }
+
+        @Bean
+        PersonaRepository personaRepository() {
+            return mock(PersonaRepository.class);
+        }
+
+        @Bean
+        PersonaService personaService(PersonaRepository personaRepository) {
+            return new PersonaService(personaRepository, mock(EntityManager.class), mock(PlatformTransactionManager.class), 500);
+        }
+    }
+
+    @Autowired
+    PersonaRepository personaRepository;
+
+    @Autowired
+    PersonaService personaService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(personaRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static Persona persona(Long id, String nombre) {
+        Persona persona = new Persona();
+        persona.setId(id);
+        persona.setNombre(nombre);
+        persona.setEdad(30);
+        return persona;
+    }
+
+    @Test
+    void findByIdReadsTheRepositoryOnlyOnce() {
+        when(personaRepository.findById(1L)).thenReturn(Optional.of(persona(1L, "Ana")));
+
+        assertEquals("Ana", personaService.findById(1L).orElseThrow().getNombre());
+        assertEquals("Ana", personaService.findById(1L).orElseThrow().getNombre());
+
+        verify(personaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void missingIdsAreNotCached() {
+        when(personaRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(personaService.findById(2L).isEmpty());
+        assertTrue(personaService.findById(2L).isEmpty());
+
+        verify(personaRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void saveUpdatesTheEntryAndInvalidatesTheList() {
+        when(personaRepository.findAll()).thenReturn(List.of(persona(1L, "Ana")));
+        when(personaRepository.save(any(Persona.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        personaService.findAll();
+        personaService.findAll();
+        verify(personaRepository, times(1)).findAll();
+
+        personaService.save(persona(1L, "Ana María"));
+
+        assertEquals("Ana María", personaService.findById(1L).orElseThrow().getNombre());
+        verify(personaRepository, never()).findById(1L);
+        personaService.findAll();
+        verify(personaRepository, times(2)).findAll();
+    }
+
+    @Test
+    void deleteEvictsTheEntry() {
+        when(personaRepository.findById(1L)).thenReturn(Optional.of(persona(1L, "Ana")));
+        personaService.findById(1L);
+
+        personaService.deleteById(1L);
+        when(personaRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(personaService.findById(1L).isEmpty());
+        verify(personaRepository, times(2)).findById(1L);
+    }
+}
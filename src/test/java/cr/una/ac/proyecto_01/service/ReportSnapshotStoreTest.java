@@ -0,0 +1,193 @@
+package cr.una.ac.proyecto_01.service;
+
+import cr.una.ac.proyecto_01.entity.LogEntry;
+import cr.una.ac.proyecto_01.entity.LogQuery;
+import cr.una.ac.proyecto_01.entity.LogQueryResult;
+import cr.una.ac.proyecto_01.logging.LogIngester;
+import cr.una.ac.proyecto_01.logging.LogSegmentStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportSnapshotStoreTest {
+
+    private static final long START = Instant.parse("2024-09-24T00:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path tempDir;
+
+    private LogSegmentStore segments;
+    private ReportSnapshotStore snapshots;
+    private final List<LogService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        segments = new LogSegmentStore(tempDir.resolve("segments").toString(), tempDir.resolve("log.json").toString(),
+                64 * 1024 * 1024, 60, 1024);
+        snapshots = new ReportSnapshotStore(tempDir.resolve("snapshots").toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        services.forEach(LogService::shutdown);
+        segments.close();
+    }
+
+    private LogService newService(LogIngester ingester, ReportSnapshotStore snapshotStore) {
+        return newService(ingester, snapshotStore, 0);
+    }
+
+    private LogService newService(LogIngester ingester, ReportSnapshotStore snapshotStore, long retentionDays) {
+        LogService service = new LogService(ingester, 24 * 365 * 10, 365 * 10, 1, new CriticalEventStream(), snapshotStore,
+                retentionDays);
+        services.add(service);
+        return service;
+    }
+
+    private void append(int from, int count) throws Exception {
+        List<LogEntry> batch = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            int status = i % 10 == 0 ? 500 : i % 4 == 0 ? 404 : 200;
+            batch.add(new LogEntry(i % 3 == 0 ? "/api/persona" : "/api/persona/{id}", i % 2 == 0 ? "GET" : "PUT",
+                    status >= 400 ? "ERROR" : "INFO", i % 300, "test", status >= 400 ? "Error occurred" : "Request processed",
+                    Instant.ofEpochMilli(START + i * 1_000L).toString(), status, status >= 400 ? "HTTP " + status : null));
+        }
+        segments.append(batch);
+    }
+
+    @Test
+    void restartLoadsTheSnapshotAndReplaysOnlyTheTail() throws Exception {
+        append(0, 5_000);
+        LogIngester first = new LogIngester(segments, 500);
+        LogService before = newService(first, snapshots);
+        assertEquals(5_000, first.poll());
+        before.writeSnapshot();
+        append(5_000, 300);
+
+        LogIngester second = new LogIngester(segments, 500);
+        LogService restarted = newService(second, snapshots);
+        assertEquals(5_000, restarted.logCount());
+        assertEquals(before.generateAllReports(), restarted.generateAllReports());
+
+        assertEquals(300, second.poll());
+        LogIngester replayIngester = new LogIngester(segments, 500);
+        LogService replayed = newService(replayIngester, null);
+        replayIngester.poll();
+        assertEquals(5_300, restarted.logCount());
+        assertEquals(replayed.generateAllReports(), restarted.generateAllReports());
+        assertEquals(replayed.generateCriticalEventReport(), restarted.generateCriticalEventReport());
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToThePreviousOne() throws Exception {
+        append(0, 1_000);
+        LogIngester ingester = new LogIngester(segments, 500);
+        LogService service = newService(ingester, snapshots);
+        ingester.poll();
+        service.writeSnapshot();
+        append(1_000, 1_000);
+        ingester.poll();
+        service.writeSnapshot();
+
+        List<Path> files = snapshots.snapshots();
+        assertEquals(2, files.size());
+        try (FileChannel channel = FileChannel.open(files.get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), 100);
+        }
+
+        LogIngester restartedIngester = new LogIngester(segments, 500);
+        LogService restarted = newService(restartedIngester, snapshots);
+        assertEquals(1_000, restarted.logCount());
+        assertEquals(1_000, restartedIngester.poll());
+        assertEquals(service.generateAllReports(), restarted.generateAllReports());
+    }
+
+    @Test
+    void snapshotOfAnotherLogIsIgnored() throws Exception {
+        append(0, 1_000);
+        LogIngester ingester = new LogIngester(segments, 500);
+        LogService service = newService(ingester, snapshots);
+        ingester.poll();
+        service.writeSnapshot();
+
+        // Log nuevo y más corto: la posición del snapshot no existe en él
+        LogSegmentStore otherSegments = new LogSegmentStore(tempDir.resolve("other").toString(),
+                tempDir.resolve("other.json").toString(), 64 * 1024 * 1024, 60, 1024);
+        try {
+            LogIngester otherIngester = new LogIngester(otherSegments, 500);
+            LogService restarted = newService(otherIngester, snapshots);
+            assertEquals(0, restarted.logCount());
+            assertEquals(0, otherIngester.getOffset());
+        } finally {
+            otherSegments.close();
+        }
+    }
+
+    @Test
+    void rowsPastRetentionAreGoneFromQueriesAndFromTheNextSnapshot() throws Exception {
+        // Más de un chunk del store, para que la retención suelte el primero entero
+        append(0, 70_000);
+        LogIngester ingester = new LogIngester(segments, 5_000);
+        LogService service = newService(ingester, snapshots, 1);
+        ingester.poll();
+        service.writeSnapshot();
+        long fullSnapshotSize = Files.size(snapshots.snapshots().get(0));
+
+        long cutoff = START + 66_000 * 1_000L;
+        assertEquals(66_000, service.applyRetention(cutoff + TimeUnit.DAYS.toMillis(1)));
+        assertRetained(service, cutoff);
+
+        // Misma posición del ingester: el snapshot recortado reemplaza al completo
+        service.writeSnapshot();
+        List<Path> files = snapshots.snapshots();
+        assertEquals(1, files.size());
+        // Al menos las columnas de timestamp y tiempo de respuesta de las filas vencidas
+        assertTrue(fullSnapshotSize - Files.size(files.get(0)) >= 66_000 * 2L * Long.BYTES, "snapshot still carries the expired rows");
+
+        LogIngester restartedIngester = new LogIngester(segments, 5_000);
+        LogService restarted = newService(restartedIngester, snapshots);
+        assertEquals(0, restartedIngester.poll());
+        assertRetained(restarted, cutoff);
+        assertEquals(service.queryLogs(new LogQuery(), 0, 5_000).getEntries(),
+                restarted.queryLogs(new LogQuery(), 0, 5_000).getEntries());
+    }
+
+    private static void assertRetained(LogService service, long cutoff) {
+        LogQueryResult all = service.queryLogs(new LogQuery(), 0, 10);
+        assertEquals(Instant.ofEpochMilli(cutoff).toString(), all.getEntries().get(0).getTimestamp());
+        LogQuery expired = LogQuery.builder().from(Instant.ofEpochMilli(START)).to(Instant.ofEpochMilli(cutoff - 1)).build();
+        assertTrue(service.queryLogs(expired, 0, 10).getEntries().isEmpty());
+    }
+
+    @Test
+    void writesLeaveNoTemporaryFilesAndKeepTheConfiguredCount() throws Exception {
+        LogIngester ingester = new LogIngester(segments, 500);
+        LogService service = newService(ingester, snapshots);
+        for (int round = 0; round < 4; round++) {
+            append(round * 100, 100);
+            ingester.poll();
+            service.writeSnapshot();
+        }
+
+        try (Stream<Path> files = Files.list(tempDir.resolve("snapshots"))) {
+            List<String> names = files.map(path -> path.getFileName().toString()).sorted().toList();
+            assertEquals(2, names.size());
+            assertTrue(names.stream().allMatch(name -> name.endsWith(".bin")), names.toString());
+        }
+    }
+}